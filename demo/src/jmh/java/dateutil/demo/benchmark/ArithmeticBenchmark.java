@@ -0,0 +1,47 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期加减、月初、天数差
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArithmeticBenchmark {
+
+    @Benchmark
+    public Date addDaysDate(DateInputs in) {
+        return DateUtil.addDays(in.dates[in.next()], 3);
+    }
+
+    @Benchmark
+    public long addDaysMillis(DateInputs in) {
+        return DateUtil.addDays(in.millis[in.next()], 3);
+    }
+
+    @Benchmark
+    public Date addMonths(DateInputs in) {
+        return DateUtil.add(in.dates[in.next()], Calendar.MONTH, 1);
+    }
+
+    @Benchmark
+    public Date getThisMonthDay(DateInputs in) {
+        return DateUtil.getThisMonthDay(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public int getDaysBetween(DateInputs in) {
+        int i = in.next();
+        return DateUtil.getDaysBetween(in.ymdStrings[i], in.ymdStrings[(i + 1) & 1023]);
+    }
+}
@@ -0,0 +1,42 @@
+package dateutil.demo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+
+/**
+ * 依次以 1/4/16 线程运行基准，附带 GC 分配率，每种线程数的结果写入 target/jmh-result-t{n}.json
+ * 线程数可通过 -Djmh.threads=1,4,16 调整
+ *
+ * @author hanmeng
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String[] threads = System.getProperty("jmh.threads", "1,4,16").split(",");
+        new File("target").mkdirs();
+        for (String thread : threads) {
+            int n = Integer.parseInt(thread.trim());
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(n)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-result-t" + n + ".json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * 基准测试的输入数据，每个线程一份，按下标轮转避免常量折叠
+ *
+ * @author hanmeng
+ */
+@State(Scope.Thread)
+public class DateInputs {
+
+    private static final int SIZE = 1024;
+    private static final long START = 946656000000L;
+    private static final long SPAN = 30L * 365 * DateUtil.ONE_DAY_MILLS;
+
+    public long[] millis = new long[SIZE];
+    public Date[] dates = new Date[SIZE];
+    public LocalDate[] localDates = new LocalDate[SIZE];
+    public String[] fullStrings = new String[SIZE];
+    public String[] ymdStrings = new String[SIZE];
+    public String[] lenientYmdStrings = new String[SIZE];
+    public int[] years = new int[SIZE];
+    public StringBuilder sb = new StringBuilder(32);
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        SimpleDateFormat full = new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL);
+        SimpleDateFormat ymd = new SimpleDateFormat(DateUtil.DATE_FORMAT_YMD);
+        SimpleDateFormat lenient = new SimpleDateFormat("yyyy-M-d");
+        for (int i = 0; i < SIZE; i++) {
+            long t = START + (long) (random.nextDouble() * SPAN);
+            millis[i] = t;
+            dates[i] = new Date(t);
+            localDates[i] = new LocalDate(t);
+            fullStrings[i] = full.format(dates[i]);
+            ymdStrings[i] = ymd.format(dates[i]);
+            lenientYmdStrings[i] = lenient.format(dates[i]);
+            years[i] = 2000 + random.nextInt(30);
+        }
+    }
+
+    /**
+     * 下一个输入的下标
+     *
+     * @return
+     */
+    public int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+}
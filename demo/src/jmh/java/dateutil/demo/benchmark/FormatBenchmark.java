@@ -0,0 +1,51 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 格式化：通用 pattern、定长快速路径、写入调用方缓冲区
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormatBenchmark {
+
+    @Benchmark
+    public String simpleDateFormatBaseline(DateInputs in) {
+        return new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL).format(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public String formatDateToStringFull(DateInputs in) {
+        return DateUtil.formatDateToString(in.dates[in.next()], DateUtil.DATE_FORMAT_FULL);
+    }
+
+    @Benchmark
+    public String formatDateToStringPattern1(DateInputs in) {
+        return DateUtil.formatDateToString(in.dates[in.next()], DateUtil.DATE_TIME_PATTERN1);
+    }
+
+    @Benchmark
+    public String dateTime2String(DateInputs in) {
+        return DateUtil.dateTime2String(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public String date2StringYmd(DateInputs in) {
+        return DateUtil.Date2StringFormat_yyyy_MM_dd(in.dates[in.next()]);
+    }
+
+    @Benchmark
+    public int formatIntoStringBuilder(DateInputs in) {
+        in.sb.setLength(0);
+        return DateUtil.formatDateToString(in.millis[in.next()], DateUtil.DATE_FORMAT_FULL, in.sb);
+    }
+}
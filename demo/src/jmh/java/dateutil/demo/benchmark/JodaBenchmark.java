@@ -0,0 +1,68 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.Hours;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Joda 的工具方法：legacy* 为改用缓存时区和 long 版本之前的写法，作为对照
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JodaBenchmark {
+
+    @Benchmark
+    public int legacyDaysBetween(DateInputs in) {
+        int i = in.next();
+        DateTime start = new DateTime(in.dates[(i + 1) & 1023]);
+        DateTime end = new DateTime(in.dates[i]);
+        return Math.abs(Days.daysBetween(end, start).getDays());
+    }
+
+    @Benchmark
+    public int daysBetweenDate(DateInputs in) {
+        int i = in.next();
+        return DateUtil.getDaysBetweenV2(in.dates[i], in.dates[(i + 1) & 1023]);
+    }
+
+    @Benchmark
+    public int daysBetweenMillis(DateInputs in) {
+        int i = in.next();
+        return DateUtil.getDaysBetweenV2(in.millis[i], in.millis[(i + 1) & 1023]);
+    }
+
+    @Benchmark
+    public int legacyHoursBetween(DateInputs in) {
+        int i = in.next();
+        DateTime start = new DateTime(in.dates[(i + 1) & 1023]);
+        DateTime end = new DateTime(in.dates[i]);
+        return Math.abs(Hours.hoursBetween(end, start).getHours());
+    }
+
+    @Benchmark
+    public int hoursBetweenMillis(DateInputs in) {
+        int i = in.next();
+        return DateUtil.getHoursBetweenDays(in.millis[i], in.millis[(i + 1) & 1023]);
+    }
+
+    @Benchmark
+    public DateTime legacyUtc2DateTime(DateInputs in) {
+        return new DateTime(in.millis[in.next()], DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+8")));
+    }
+
+    @Benchmark
+    public DateTime utc2DateTime(DateInputs in) {
+        return DateUtil.utc2DateTime(in.millis[in.next()]);
+    }
+}
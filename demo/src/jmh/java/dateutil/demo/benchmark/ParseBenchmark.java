@@ -0,0 +1,52 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析：严格定长输入走快速路径，宽松输入回退到 FastDateFormat
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParseBenchmark {
+
+    @Benchmark
+    public Date simpleDateFormatBaseline(DateInputs in) throws ParseException {
+        return new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL).parse(in.fullStrings[in.next()]);
+    }
+
+    @Benchmark
+    public Date formatStringToDateFull(DateInputs in) {
+        return DateUtil.formatStringToDate(in.fullStrings[in.next()], DateUtil.DATE_FORMAT_FULL);
+    }
+
+    @Benchmark
+    public Date formatStringToDateYmd(DateInputs in) {
+        return DateUtil.formatStringToDate(in.ymdStrings[in.next()], DateUtil.DATE_FORMAT_YMD);
+    }
+
+    @Benchmark
+    public Date formatStringToDateLenient(DateInputs in) {
+        return DateUtil.formatStringToDate(in.lenientYmdStrings[in.next()], DateUtil.DATE_FORMAT_YMD);
+    }
+
+    @Benchmark
+    public long tryParseFull(DateInputs in) {
+        return DateUtil.tryParse(in.fullStrings[in.next()], DateUtil.DATE_FORMAT_FULL);
+    }
+
+    @Benchmark
+    public long tryParseInvalid(DateInputs in) {
+        return DateUtil.tryParse(in.ymdStrings[in.next()], DateUtil.DATE_FORMAT_FULL);
+    }
+}
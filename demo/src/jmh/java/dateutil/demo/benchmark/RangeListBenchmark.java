@@ -0,0 +1,44 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.utils.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 返回日期列表的方法
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RangeListBenchmark {
+
+    @Benchmark
+    public List<String> getMonthListBetween(DateInputs in) throws ParseException {
+        int i = in.next();
+        String a = in.ymdStrings[i];
+        String b = in.ymdStrings[(i + 1) & 1023];
+        return a.compareTo(b) <= 0 ? DateUtil.getMonthListBetween(a, b) : DateUtil.getMonthListBetween(b, a);
+    }
+
+    @Benchmark
+    public List<String> getBefore7Dates(DateInputs in) {
+        return DateUtil.getBefore7Dates(in.localDates[in.next()]);
+    }
+
+    @Benchmark
+    public List<String> lastWeekDates(DateInputs in) {
+        return DateUtil.lastWeekDates(in.localDates[in.next()]);
+    }
+
+    @Benchmark
+    public List<String> lastMonthDates(DateInputs in) {
+        return DateUtil.lastMonthDates(in.localDates[in.next()]);
+    }
+}
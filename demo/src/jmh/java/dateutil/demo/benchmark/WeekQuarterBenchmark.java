@@ -0,0 +1,57 @@
+package dateutil.demo.benchmark;
+
+import dateutil.demo.common.DateRange;
+import dateutil.demo.utils.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 周、季度相关查询
+ *
+ * @author hanmeng
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeekQuarterBenchmark {
+
+    @Benchmark
+    public int getWeekOfDate(DateInputs in) {
+        return DateUtil.getWeekOfDate(in.ymdStrings[in.next()]);
+    }
+
+    @Benchmark
+    public int[] getWeekAndYearMonday(DateInputs in) {
+        return DateUtil.getWeekAndYear(in.ymdStrings[in.next()], 1, Calendar.MONDAY);
+    }
+
+    @Benchmark
+    public int[] getWeekAndYearSunday(DateInputs in) {
+        return DateUtil.getWeekAndYear(in.ymdStrings[in.next()], -1, Calendar.SUNDAY);
+    }
+
+    @Benchmark
+    public List<String[]> getWeeksByYear(DateInputs in) {
+        return DateUtil.getWeeksByYear(in.years[in.next()]);
+    }
+
+    @Benchmark
+    public List<String> getWeekDays(DateInputs in) {
+        return DateUtil.getWeekDays(in.years[in.next()], 20, Calendar.WEDNESDAY);
+    }
+
+    @Benchmark
+    public String getYearQuarter(DateInputs in) {
+        return DateUtil.getYearQuarter(in.dates[in.next()], true);
+    }
+
+    @Benchmark
+    public DateRange getLastQuarter(DateInputs in) {
+        return DateUtil.getLastQuarter(in.dates[in.next()]);
+    }
+}
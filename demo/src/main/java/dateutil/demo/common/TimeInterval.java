@@ -0,0 +1,196 @@
+package dateutil.demo.common;
+
+import dateutil.demo.utils.DateUtil;
+import dateutil.demo.utils.EpochDateUtil;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @description 不可变时间区间 [start, end]，两端都包含，单位为毫秒时间戳
+ * 与 DateRange 表示同样的含义（getLastQuarter 等返回的区间两端都包含），但只占两个 long，可安全共享
+ **/
+@Getter
+@EqualsAndHashCode
+public final class TimeInterval {
+    /**
+     * 开始时间（含）
+     */
+    private final long start;
+    /**
+     * 结束时间（含）
+     */
+    private final long end;
+
+    private TimeInterval(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param start 开始时间（含）
+     * @param end   结束时间（含），不能早于 start
+     * @return
+     */
+    public static TimeInterval of(long start, long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("end before start: " + start + " > " + end);
+        }
+        return new TimeInterval(start, end);
+    }
+
+    public static TimeInterval of(Date start, Date end) {
+        return of(start.getTime(), end.getTime());
+    }
+
+    public static TimeInterval of(DateRange range) {
+        return of(range.getStart(), range.getEnd());
+    }
+
+    public DateRange toDateRange() {
+        return new DateRange(new Date(start), new Date(end));
+    }
+
+    /**
+     * 区间包含的毫秒数
+     *
+     * @return
+     */
+    public long durationMillis() {
+        return end - start + 1;
+    }
+
+    public boolean contains(long time) {
+        return time >= start && time <= end;
+    }
+
+    public boolean contains(TimeInterval other) {
+        return other.start >= start && other.end <= end;
+    }
+
+    public boolean overlaps(TimeInterval other) {
+        return other.start <= end && other.end >= start;
+    }
+
+    /**
+     * 两个区间首尾相接（中间没有空隙也不重叠）
+     *
+     * @param other
+     * @return
+     */
+    public boolean abuts(TimeInterval other) {
+        return other.start > end && other.start - 1 == end || start > other.end && start - 1 == other.end;
+    }
+
+    /**
+     * 交集，不重叠时为 null
+     *
+     * @param other
+     * @return
+     */
+    public TimeInterval intersection(TimeInterval other) {
+        if (!overlaps(other)) {
+            return null;
+        }
+        return new TimeInterval(Math.max(start, other.start), Math.min(end, other.end));
+    }
+
+    /**
+     * 并集，两个区间既不重叠也不相接时并集不是一个区间，返回 null
+     *
+     * @param other
+     * @return
+     */
+    public TimeInterval union(TimeInterval other) {
+        if (!overlaps(other) && !abuts(other)) {
+            return null;
+        }
+        return span(other);
+    }
+
+    /**
+     * 同时覆盖两个区间的最小区间
+     *
+     * @param other
+     * @return
+     */
+    public TimeInterval span(TimeInterval other) {
+        return new TimeInterval(Math.min(start, other.start), Math.max(end, other.end));
+    }
+
+    /**
+     * 两个区间之间的空隙，重叠或相接时为 null
+     *
+     * @param other
+     * @return
+     */
+    public TimeInterval gap(TimeInterval other) {
+        if (other.start > end && other.start - 1 != end) {
+            return new TimeInterval(end + 1, other.start - 1);
+        }
+        if (start > other.end && start - 1 != other.end) {
+            return new TimeInterval(other.end + 1, start - 1);
+        }
+        return null;
+    }
+
+    /**
+     * 按本地日期切分，每段不跨 0 点
+     *
+     * @return
+     */
+    public List<TimeInterval> splitByDay() {
+        List<TimeInterval> result = new ArrayList<>();
+        int day = EpochDateUtil.epochDay(start);
+        long from = start;
+        while (from <= end) {
+            long next = EpochDateUtil.startOfEpochDay(++day);
+            result.add(new TimeInterval(from, Math.min(end, next - 1)));
+            from = next;
+        }
+        return result;
+    }
+
+    /**
+     * 按周（周一为一周第一天）切分
+     *
+     * @return
+     */
+    public List<TimeInterval> splitByWeek() {
+        List<TimeInterval> result = new ArrayList<>();
+        int monday = EpochDateUtil.mondayOf(EpochDateUtil.epochDay(start));
+        long from = start;
+        while (from <= end) {
+            monday += DateUtil.WEEK_DAYS;
+            long next = EpochDateUtil.startOfEpochDay(monday);
+            result.add(new TimeInterval(from, Math.min(end, next - 1)));
+            from = next;
+        }
+        return result;
+    }
+
+    /**
+     * 按自然月切分
+     *
+     * @return
+     */
+    public List<TimeInterval> splitByMonth() {
+        List<TimeInterval> result = new ArrayList<>();
+        long from = start;
+        while (from <= end) {
+            long next = EpochDateUtil.addMonths(EpochDateUtil.floorToMonth(from), 1);
+            result.add(new TimeInterval(from, Math.min(end, next - 1)));
+            from = next;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + DateUtil.formatDateToString(new Date(start), DateUtil.DATE_FORMAT_FULL)
+                + ", " + DateUtil.formatDateToString(new Date(end), DateUtil.DATE_FORMAT_FULL) + "]";
+    }
+}
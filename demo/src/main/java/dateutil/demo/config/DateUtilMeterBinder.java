@@ -0,0 +1,96 @@
+package dateutil.demo.config;
+
+import dateutil.demo.utils.DateFormatRegistry;
+import dateutil.demo.utils.DateUtil;
+import dateutil.demo.utils.DateUtilMetrics;
+import dateutil.demo.utils.DayStringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 把 DateUtilMetrics 发布为 Micrometer 指标，指标值在采集时才从 LongAdder 读取，调用路径上没有额外开销
+ * <ul>
+ *     <li>dateutil.operation{operation}：各类操作的次数和耗时</li>
+ *     <li>dateutil.parse.failures{pattern}：按 pattern 的解析失败次数</li>
+ *     <li>dateutil.formatter.lookups{result}、dateutil.formatter.hit.ratio、dateutil.formatter.cached：格式化器注册表</li>
+ *     <li>dateutil.day.cache.requests{result}、dateutil.day.cache.hit.ratio：日期串缓存，未开启时为 0</li>
+ * </ul>
+ *
+ * @author hanmeng
+ */
+public class DateUtilMeterBinder implements MeterBinder {
+
+    private final DateUtilMetrics metrics;
+
+    public DateUtilMeterBinder(DateUtilMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DateUtilMetrics.Operation operation : DateUtilMetrics.Operation.values()) {
+            FunctionTimer.builder("dateutil.operation", metrics,
+                            m -> m.count(operation), m -> m.totalTime(operation, TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .description("DateUtil calls by operation family")
+                    .register(registry);
+        }
+
+        metrics.onFailurePattern(pattern -> bindParseFailures(registry, pattern));
+        for (String pattern : metrics.parseFailures().keySet()) {
+            bindParseFailures(registry, pattern);
+        }
+
+        FunctionCounter.builder("dateutil.formatter.lookups", metrics, DateUtilMetrics::formatterHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("dateutil.formatter.lookups", metrics, DateUtilMetrics::formatterMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("dateutil.formatter.hit.ratio", metrics,
+                        m -> ratio(m.formatterHitCount(), m.formatterMissCount()))
+                .register(registry);
+        Gauge.builder("dateutil.formatter.cached", DateFormatRegistry::size)
+                .description("Compiled formatters held by DateFormatRegistry")
+                .register(registry);
+
+        FunctionCounter.builder("dateutil.day.cache.requests", this, dayCache(DayStringCache::hitCount))
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("dateutil.day.cache.requests", this, dayCache(DayStringCache::missCount))
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("dateutil.day.cache.hit.ratio", this,
+                        dayCache(cache -> ratio(cache.hitCount(), cache.missCount())))
+                .register(registry);
+    }
+
+    private void bindParseFailures(MeterRegistry registry, String pattern) {
+        FunctionCounter.builder("dateutil.parse.failures", metrics, m -> m.parseFailureCount(pattern))
+                .tag("pattern", pattern)
+                .description("tryParse / formatStringToDate failures by pattern")
+                .register(registry);
+    }
+
+    /**
+     * 缓存可能在运行中开启、关闭或替换，每次采集时重新读取
+     */
+    private static ToDoubleFunction<DateUtilMeterBinder> dayCache(ToDoubleFunction<DayStringCache> f) {
+        return binder -> {
+            DayStringCache cache = DateUtil.getDayStringCache();
+            return cache == null ? 0 : f.applyAsDouble(cache);
+        };
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
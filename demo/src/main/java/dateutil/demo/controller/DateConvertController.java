@@ -0,0 +1,244 @@
+package dateutil.demo.controller;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.JSONWriter;
+import dateutil.demo.utils.CalendarMath;
+import dateutil.demo.utils.CalendarRanges;
+import dateutil.demo.utils.DateFormatRegistry;
+import dateutil.demo.utils.DateUtil;
+import dateutil.demo.utils.FixedDateFormatter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * 批量日期转换接口
+ * 请求体和响应体都是 JSON 数组，逐个元素读取、转换、写出，不在内存中保留整个数组，
+ * 单个元素无法转换时对应位置输出 null，不影响其他元素。
+ * pattern 只接受 DateUtil 的 DATE_FORMAT_* 常量，参数错误在读取请求体之前返回 400；
+ * 请求体在数组中途格式错误时，已经写出的部分无法撤回，客户端收到的是状态码 200、被截断的响应体，
+ * 需以响应是否为完整的 JSON 数组判断成功
+ *
+ * @author hanmeng
+ */
+@RestController
+@RequestMapping("/date")
+public class DateConvertController {
+
+    /**
+     * range 接口单次最多返回的元素数
+     */
+    public static final int MAX_RANGE_SIZE = 1_000_000;
+
+    /**
+     * 允许的 pattern；不加限制时，请求传入的每个不同 pattern 都会在 DateFormatRegistry 中永久缓存一个格式化器
+     */
+    private static final Set<String> PATTERNS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            DateUtil.DATE_FORMAT_FULL, DateUtil.DATE_FORMAT_YMD, DateUtil.DATE_FORMAT_YM, DateUtil.DATE_FORMAT_Y,
+            DateUtil.DATE_FORMAT_HMS, DateUtil.DATE_FORMAT_HM, DateUtil.DATE_FORMAT_YMDHM, DateUtil.DATE_FORMAT_YMDHMS,
+            DateUtil.DATE_FORMAT_ISO8601)));
+
+    /**
+     * 毫秒时间戳数组 -> 按 pattern 格式化的字符串数组
+     * POST /date/format?pattern=yyyy-MM-dd  [1617206400000, ...] -> ["2021-04-01", ...]
+     */
+    @PostMapping("/format")
+    public void format(@RequestParam(defaultValue = DateUtil.DATE_FORMAT_FULL) String pattern,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        checkPattern(pattern);
+        boolean fixed = FixedDateFormatter.supports(pattern);
+        transform(request, response, (value, writer) -> {
+            Long millis = toLong(value);
+            if (millis == null) {
+                writer.writeValue(null);
+            } else if (fixed) {
+                writer.writeValue(FixedDateFormatter.format(millis, pattern));
+            } else {
+                writer.writeValue(DateFormatRegistry.get(pattern).format(millis));
+            }
+        });
+    }
+
+    /**
+     * 字符串数组 -> 毫秒时间戳数组，解析失败为 null
+     * POST /date/parse?pattern=yyyy-MM-dd  ["2021-04-01", ...] -> [1617206400000, ...]
+     */
+    @PostMapping("/parse")
+    public void parse(@RequestParam(defaultValue = DateUtil.DATE_FORMAT_FULL) String pattern,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        checkPattern(pattern);
+        transform(request, response, (value, writer) -> {
+            long millis = value == null ? DateUtil.PARSE_FAILED : DateUtil.tryParse(value.toString(), pattern);
+            writer.writeValue(millis == DateUtil.PARSE_FAILED ? null : millis);
+        });
+    }
+
+    /**
+     * 毫秒时间戳数组 -> [周, 年] 数组，规则同 DateUtil.getWeekAndYear
+     * POST /date/week-year?firstDayOfWeek=2  [1617206400000, ...] -> [[13, 2021], ...]
+     */
+    @PostMapping("/week-year")
+    public void weekYear(@RequestParam(defaultValue = "2") int firstDayOfWeek,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (firstDayOfWeek < Calendar.SUNDAY || firstDayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("invalid firstDayOfWeek: " + firstDayOfWeek);
+        }
+        transform(request, response, (value, writer) -> {
+            Long millis = toLong(value);
+            writer.writeValue(millis == null ? null : DateUtil.getWeekAndYear(millis, firstDayOfWeek));
+        });
+    }
+
+    /**
+     * 毫秒时间戳数组 -> "年_季度" 数组，规则同 DateUtil.getYearQuarter
+     * POST /date/year-quarter  [1617206400000, ...] -> ["2021_2", ...]
+     */
+    @PostMapping("/year-quarter")
+    public void yearQuarter(@RequestParam(defaultValue = "false") boolean next,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        transform(request, response, (value, writer) -> {
+            Long millis = toLong(value);
+            writer.writeValue(millis == null ? null : DateUtil.getYearQuarter(new Date(millis), next));
+        });
+    }
+
+    /**
+     * 枚举两个时间之间的每个日历单位，见 {@link CalendarRanges}
+     * GET /date/range?unit=day&from=1617206400000&to=1617811200000&pattern=yyyy-MM-dd
+     *
+     * @param unit    hour / day / week / month / quarter
+     * @param from    开始时间（毫秒，含）
+     * @param to      结束时间（毫秒，含）
+     * @param pattern 不传时按单位选择 yyyy-MM-dd HH:mm、yyyy-MM-dd 或 yyyy-MM
+     */
+    @GetMapping("/range")
+    public void range(@RequestParam String unit, @RequestParam long from, @RequestParam long to,
+                      @RequestParam(required = false) String pattern,
+                      HttpServletResponse response) throws IOException {
+        LongStream starts;
+        long approxUnit;
+        String defaultPattern;
+        switch (unit) {
+            case "hour":
+                starts = CalendarRanges.hours(from, to);
+                approxUnit = CalendarMath.MILLIS_PER_HOUR;
+                defaultPattern = DateUtil.DATE_FORMAT_YMDHM;
+                break;
+            case "day":
+                starts = CalendarRanges.dayStarts(from, to);
+                approxUnit = CalendarMath.MILLIS_PER_DAY;
+                defaultPattern = DateUtil.DATE_FORMAT_YMD;
+                break;
+            case "week":
+                starts = CalendarRanges.weekStarts(from, to);
+                approxUnit = DateUtil.WEEK_DAYS * CalendarMath.MILLIS_PER_DAY;
+                defaultPattern = DateUtil.DATE_FORMAT_YMD;
+                break;
+            case "month":
+                starts = CalendarRanges.monthStarts(from, to);
+                approxUnit = 28 * CalendarMath.MILLIS_PER_DAY;
+                defaultPattern = DateUtil.DATE_FORMAT_YM;
+                break;
+            case "quarter":
+                starts = CalendarRanges.quarterStarts(from, to);
+                approxUnit = 89 * CalendarMath.MILLIS_PER_DAY;
+                defaultPattern = DateUtil.DATE_FORMAT_YM;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown unit: " + unit);
+        }
+        if (to > from && (to - from) / approxUnit >= MAX_RANGE_SIZE) {
+            throw new IllegalArgumentException("range too large, max " + MAX_RANGE_SIZE + " " + unit + "s");
+        }
+        String format = pattern == null ? defaultPattern : checkPattern(pattern);
+        JSONWriter writer = openWriter(response);
+        writer.startArray();
+        CalendarRanges.format(starts, format).forEachOrdered(writer::writeValue);
+        writer.endArray();
+        writer.close();
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, JSONException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(RuntimeException e) {
+        return e.getMessage();
+    }
+
+    private static String checkPattern(String pattern) {
+        if (!PATTERNS.contains(pattern)) {
+            throw new IllegalArgumentException("unsupported pattern: " + pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * 逐个读取请求体数组的元素，转换后写入响应体数组
+     */
+    private static void transform(HttpServletRequest request, HttpServletResponse response, Converter converter) throws IOException {
+        JSONReader reader = new JSONReader(new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+        try {
+            reader.startArray();
+            JSONWriter writer = openWriter(response);
+            writer.startArray();
+            while (reader.hasNext()) {
+                converter.convert(reader.readObject(), writer);
+            }
+            reader.endArray();
+            writer.endArray();
+            writer.close();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static JSONWriter openWriter(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return new JSONWriter(new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 数字或数字字符串转为 long，其他情况为 null
+     */
+    private static Long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        void convert(Object value, JSONWriter writer);
+    }
+}
@@ -0,0 +1,112 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.utils.DateFormatRegistry;
+import dateutil.demo.utils.FixedDateFormatter;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 毫秒时间戳按 DateUtil 的格式常量格式化，与 DateUtil.formatDateToString 结果一致
+ * 注册：CREATE FUNCTION date_util_format AS 'dateutil.demo.hive.DateFormatUDF'
+ *
+ * @author hanmeng
+ */
+@Description(name = DateFormatUDF.NAME,
+        value = "_FUNC_(millis, pattern) - 毫秒时间戳按 pattern 格式化，pattern 须为常量",
+        extended = "Example: SELECT _FUNC_(1617206400000, 'yyyy-MM-dd') -> '2021-04-01'")
+@VectorizedExpressions({DateFormatUDF.Vectorized.class})
+public class DateFormatUDF extends MillisToStringUDF {
+
+    public static final String NAME = "date_util_format";
+
+    private String pattern;
+
+    public DateFormatUDF() {
+        super(NAME);
+    }
+
+    @Override
+    protected int argumentCount() {
+        return 2;
+    }
+
+    @Override
+    protected void initializeOthers(ObjectInspector[] arguments) throws UDFArgumentException {
+        pattern = getConstantStringValue(arguments, 1);
+        if (pattern == null) {
+            throw new UDFArgumentException(NAME + " pattern must be a constant");
+        }
+    }
+
+    @Override
+    protected String apply(long millis) {
+        return format(millis, pattern);
+    }
+
+    static String format(long millis, String pattern) {
+        if (FixedDateFormatter.supports(pattern)) {
+            return FixedDateFormatter.format(millis, pattern);
+        }
+        return DateFormatRegistry.get(pattern).format(millis);
+    }
+
+    /**
+     * 向量化实现，定长 pattern 直接写字节，不创建 String
+     */
+    public static class Vectorized extends LongToStringExpression {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String pattern;
+        private final boolean fixed;
+        private transient byte[] scratch;
+
+        public Vectorized() {
+            super();
+            this.pattern = null;
+            this.fixed = false;
+        }
+
+        public Vectorized(int inputColumn, byte[] pattern, int outputColumnNum) {
+            super(inputColumn, outputColumnNum);
+            this.pattern = new String(pattern, StandardCharsets.UTF_8);
+            this.fixed = FixedDateFormatter.supports(this.pattern);
+        }
+
+        @Override
+        protected boolean assign(BytesColumnVector out, int row, long value) {
+            if (fixed) {
+                if (scratch == null) {
+                    scratch = new byte[SCRATCH_BYTES];
+                }
+                out.setVal(row, scratch, 0, FixedDateFormatter.format(value, pattern, scratch, 0));
+            } else {
+                out.setVal(row, format(value, pattern).getBytes(StandardCharsets.UTF_8));
+            }
+            return true;
+        }
+
+        @Override
+        public String vectorExpressionParameters() {
+            return super.vectorExpressionParameters() + ", pattern " + pattern;
+        }
+
+        @Override
+        public VectorExpressionDescriptor.Descriptor getDescriptor() {
+            return new VectorExpressionDescriptor.Builder()
+                    .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                    .setNumArguments(2)
+                    .setArgumentTypes(VectorExpressionDescriptor.ArgumentType.INT_FAMILY,
+                            VectorExpressionDescriptor.ArgumentType.STRING_FAMILY)
+                    .setInputExpressionTypes(VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                            VectorExpressionDescriptor.InputExpressionType.SCALAR)
+                    .build();
+        }
+    }
+}
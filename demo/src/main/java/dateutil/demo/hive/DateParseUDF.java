@@ -0,0 +1,159 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.utils.DateUtil;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.VectorExpression;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters.Converter;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector.PrimitiveCategory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 字符串按 DateUtil 的格式常量解析为毫秒时间戳，与 DateUtil.tryParse 一致，解析失败返回 NULL
+ *
+ * @author hanmeng
+ */
+@Description(name = DateParseUDF.NAME,
+        value = "_FUNC_(str, pattern) - 字符串按 pattern 解析为毫秒时间戳，失败返回 NULL，pattern 须为常量",
+        extended = "Example: SELECT _FUNC_('2021-04-01', 'yyyy-MM-dd') -> 1617206400000")
+@VectorizedExpressions({DateParseUDF.Vectorized.class})
+public class DateParseUDF extends GenericUDF {
+
+    public static final String NAME = "date_util_parse";
+
+    private transient Converter[] converters = new Converter[1];
+    private transient PrimitiveCategory[] inputTypes = new PrimitiveCategory[1];
+    private final transient LongWritable output = new LongWritable();
+    private String pattern;
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        checkArgsSize(arguments, 2, 2);
+        checkArgPrimitive(arguments, 0);
+        obtainStringConverter(arguments, 0, inputTypes, converters);
+        pattern = getConstantStringValue(arguments, 1);
+        if (pattern == null) {
+            throw new UDFArgumentException(NAME + " pattern must be a constant");
+        }
+        return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        String date = getStringValue(arguments, 0, converters);
+        if (date == null) {
+            return null;
+        }
+        long millis = DateUtil.tryParse(date, pattern);
+        if (millis == DateUtil.PARSE_FAILED) {
+            return null;
+        }
+        output.set(millis);
+        return output;
+    }
+
+    @Override
+    protected String getFuncName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDisplayString(String[] children) {
+        return getStandardDisplayString(NAME, children);
+    }
+
+    /**
+     * 向量化实现，定长 pattern 直接在列的字节上解析
+     */
+    public static class Vectorized extends VectorExpression {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int inputColumn;
+        private final String pattern;
+
+        public Vectorized() {
+            super();
+            this.inputColumn = -1;
+            this.pattern = null;
+        }
+
+        public Vectorized(int inputColumn, byte[] pattern, int outputColumnNum) {
+            super(outputColumnNum);
+            this.inputColumn = inputColumn;
+            this.pattern = new String(pattern, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void evaluate(VectorizedRowBatch batch) throws HiveException {
+            evaluateChildren(batch);
+            int n = batch.size;
+            if (n == 0) {
+                return;
+            }
+            BytesColumnVector in = (BytesColumnVector) batch.cols[inputColumn];
+            LongColumnVector out = (LongColumnVector) batch.cols[outputColumnNum];
+            out.noNulls = true;
+            if (in.isRepeating) {
+                out.isRepeating = true;
+                set(in, out, 0);
+                return;
+            }
+            out.isRepeating = false;
+            if (batch.selectedInUse) {
+                int[] selected = batch.selected;
+                for (int j = 0; j < n; j++) {
+                    set(in, out, selected[j]);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    set(in, out, i);
+                }
+            }
+        }
+
+        private void set(BytesColumnVector in, LongColumnVector out, int row) {
+            long millis = DateUtil.PARSE_FAILED;
+            if (in.noNulls || !in.isNull[row]) {
+                millis = DateUtil.tryParse(in.vector[row], in.start[row], in.length[row], pattern);
+            }
+            if (millis == DateUtil.PARSE_FAILED) {
+                // 与 Hive 的约定一致，空值位置填 1
+                out.vector[row] = 1;
+                out.isNull[row] = true;
+                out.noNulls = false;
+            } else {
+                out.vector[row] = millis;
+                out.isNull[row] = false;
+            }
+        }
+
+        @Override
+        public String vectorExpressionParameters() {
+            return getColumnParamString(0, inputColumn) + ", pattern " + pattern;
+        }
+
+        @Override
+        public VectorExpressionDescriptor.Descriptor getDescriptor() {
+            return new VectorExpressionDescriptor.Builder()
+                    .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                    .setNumArguments(2)
+                    .setArgumentTypes(VectorExpressionDescriptor.ArgumentType.STRING_FAMILY,
+                            VectorExpressionDescriptor.ArgumentType.STRING_FAMILY)
+                    .setInputExpressionTypes(VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                            VectorExpressionDescriptor.InputExpressionType.SCALAR)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dateutil.demo.hive;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.VectorExpression;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * 向量化表达式基类：一列 bigint 毫秒时间戳 -> 一列 string
+ * 处理空值、isRepeating 和 selected，子类只负责把单个值写入输出列
+ *
+ * @author hanmeng
+ */
+public abstract class LongToStringExpression extends VectorExpression {
+
+    private static final long serialVersionUID = 1L;
+
+    protected static final int SCRATCH_BYTES = 64;
+
+    private final int inputColumn;
+
+    protected LongToStringExpression() {
+        super();
+        this.inputColumn = -1;
+    }
+
+    protected LongToStringExpression(int inputColumn, int outputColumnNum) {
+        super(outputColumnNum);
+        this.inputColumn = inputColumn;
+    }
+
+    /**
+     * 把 value 的结果写入 out 的第 row 行
+     *
+     * @param out
+     * @param row
+     * @param value
+     * @return 结果为 null 时返回 false
+     */
+    protected abstract boolean assign(BytesColumnVector out, int row, long value);
+
+    /**
+     * 每批数据开始前调用一次
+     */
+    protected void prepare() {
+    }
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        evaluateChildren(batch);
+        int n = batch.size;
+        if (n == 0) {
+            return;
+        }
+        LongColumnVector in = (LongColumnVector) batch.cols[inputColumn];
+        BytesColumnVector out = (BytesColumnVector) batch.cols[outputColumnNum];
+        out.initBuffer();
+        out.noNulls = true;
+        prepare();
+        if (in.isRepeating) {
+            out.isRepeating = true;
+            set(in, out, 0);
+            return;
+        }
+        out.isRepeating = false;
+        if (batch.selectedInUse) {
+            int[] selected = batch.selected;
+            for (int j = 0; j < n; j++) {
+                set(in, out, selected[j]);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                set(in, out, i);
+            }
+        }
+    }
+
+    private void set(LongColumnVector in, BytesColumnVector out, int row) {
+        if ((in.noNulls || !in.isNull[row]) && assign(out, row, in.vector[row])) {
+            out.isNull[row] = false;
+        } else {
+            out.isNull[row] = true;
+            out.noNulls = false;
+        }
+    }
+
+    /**
+     * 以 ASCII 写入 "年_序号"，与 DateUtil.getYearQuarter 的格式一致
+     *
+     * @return 写入的字节数
+     */
+    protected static int writeYearAnd(byte[] buf, int year, int number) {
+        int pos = writeInt(buf, 0, year);
+        buf[pos++] = '_';
+        return writeInt(buf, pos, number);
+    }
+
+    private static int writeInt(byte[] buf, int pos, int value) {
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    @Override
+    public String vectorExpressionParameters() {
+        return getColumnParamString(0, inputColumn);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(1)
+                .setArgumentTypes(VectorExpressionDescriptor.ArgumentType.INT_FAMILY)
+                .setInputExpressionTypes(VectorExpressionDescriptor.InputExpressionType.COLUMN)
+                .build();
+    }
+}
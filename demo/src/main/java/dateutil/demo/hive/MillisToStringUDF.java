@@ -0,0 +1,88 @@
+package dateutil.demo.hive;
+
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters.Converter;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector.PrimitiveCategory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+
+/**
+ * 行模式 UDF 基类：第一个参数为 bigint 毫秒时间戳，返回 string
+ * 时间戳按 DateUtil 的约定解释为默认时区下的时刻，不使用 Hive 的 timestamp 类型以免时区语义不一致
+ *
+ * @author hanmeng
+ */
+public abstract class MillisToStringUDF extends GenericUDF {
+
+    private final String name;
+    private transient Converter[] converters = new Converter[1];
+    private transient PrimitiveCategory[] inputTypes = new PrimitiveCategory[1];
+    private final transient Text output = new Text();
+
+    /**
+     * @param name 注册的函数名，用于 explain 等显示
+     */
+    protected MillisToStringUDF(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 参数个数（含时间戳）
+     *
+     * @return
+     */
+    protected int argumentCount() {
+        return 1;
+    }
+
+    /**
+     * 初始化时间戳以外的参数
+     *
+     * @param arguments
+     * @throws UDFArgumentException
+     */
+    protected void initializeOthers(ObjectInspector[] arguments) throws UDFArgumentException {
+    }
+
+    /**
+     * @param millis
+     * @return 结果，可以为 null
+     */
+    protected abstract String apply(long millis);
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        checkArgsSize(arguments, argumentCount(), argumentCount());
+        checkArgPrimitive(arguments, 0);
+        obtainLongConverter(arguments, 0, inputTypes, converters);
+        initializeOthers(arguments);
+        return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Long millis = getLongValue(arguments, 0, converters);
+        if (millis == null) {
+            return null;
+        }
+        String result = apply(millis);
+        if (result == null) {
+            return null;
+        }
+        output.set(result);
+        return output;
+    }
+
+    @Override
+    protected String getFuncName() {
+        return name;
+    }
+
+    @Override
+    public String getDisplayString(String[] children) {
+        return getStandardDisplayString(name, children);
+    }
+}
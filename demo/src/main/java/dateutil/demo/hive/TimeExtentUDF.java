@@ -0,0 +1,70 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.enums.TimeExtentEnum;
+import dateutil.demo.utils.TimeExtentClassifier;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 毫秒时间戳距当前时间的远近，与 DateUtil.getTimeExtent 一致，返回 TimeExtentEnum 的 desc
+ * 当前时间取执行时刻，同一秒内的行使用同一组阈值
+ *
+ * @author hanmeng
+ */
+@Description(name = TimeExtentUDF.NAME,
+        value = "_FUNC_(millis) - 毫秒时间戳距当前时间的远近，如 近1天、半年以前")
+@VectorizedExpressions({TimeExtentUDF.Vectorized.class})
+public class TimeExtentUDF extends MillisToStringUDF {
+
+    public static final String NAME = "date_util_time_extent";
+
+    public TimeExtentUDF() {
+        super(NAME);
+    }
+
+    @Override
+    protected String apply(long millis) {
+        return TimeExtentClassifier.current().classify(millis).getDesc();
+    }
+
+    /**
+     * 向量化实现，每批取一次分类器，结果引用预先编码好的字节
+     */
+    public static class Vectorized extends LongToStringExpression {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final byte[][] DESCS = new byte[TimeExtentEnum.values().length][];
+
+        static {
+            for (TimeExtentEnum extent : TimeExtentEnum.values()) {
+                DESCS[extent.ordinal()] = extent.getDesc().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        private transient TimeExtentClassifier classifier;
+
+        public Vectorized() {
+            super();
+        }
+
+        public Vectorized(int inputColumn, int outputColumnNum) {
+            super(inputColumn, outputColumnNum);
+        }
+
+        @Override
+        protected void prepare() {
+            classifier = TimeExtentClassifier.current();
+        }
+
+        @Override
+        protected boolean assign(BytesColumnVector out, int row, long value) {
+            byte[] desc = DESCS[classifier.ordinal(value)];
+            out.setRef(row, desc, 0, desc.length);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.utils.DateUtil;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
+
+import java.util.Calendar;
+
+/**
+ * 毫秒时间戳所在的年、周（周一为每周首日，每年第一个完整的周为第 1 周），与 DateUtil.getWeekAndYear 一致
+ * 结果格式为 "年_周"，例如 2021_13
+ *
+ * @author hanmeng
+ */
+@Description(name = WeekYearUDF.NAME,
+        value = "_FUNC_(millis) - 毫秒时间戳所在的 年_周，周一为每周首日",
+        extended = "Example: SELECT _FUNC_(1617206400000) -> '2021_13'")
+@VectorizedExpressions({WeekYearUDF.Vectorized.class})
+public class WeekYearUDF extends MillisToStringUDF {
+
+    public static final String NAME = "date_util_week_year";
+
+    public WeekYearUDF() {
+        super(NAME);
+    }
+
+    @Override
+    protected String apply(long millis) {
+        int[] weekAndYear = DateUtil.getWeekAndYear(millis, Calendar.MONDAY);
+        return weekAndYear[1] + "_" + weekAndYear[0];
+    }
+
+    public static class Vectorized extends LongToStringExpression {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient byte[] scratch;
+
+        public Vectorized() {
+            super();
+        }
+
+        public Vectorized(int inputColumn, int outputColumnNum) {
+            super(inputColumn, outputColumnNum);
+        }
+
+        @Override
+        protected boolean assign(BytesColumnVector out, int row, long value) {
+            if (scratch == null) {
+                scratch = new byte[SCRATCH_BYTES];
+            }
+            int[] weekAndYear = DateUtil.getWeekAndYear(value, Calendar.MONDAY);
+            out.setVal(row, scratch, 0, writeYearAnd(scratch, weekAndYear[1], weekAndYear[0]));
+            return true;
+        }
+    }
+}
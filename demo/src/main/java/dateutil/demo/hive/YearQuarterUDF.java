@@ -0,0 +1,62 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.utils.CalendarMath;
+import dateutil.demo.utils.DateUtil;
+import dateutil.demo.utils.EpochDateUtil;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
+
+import java.util.Date;
+
+/**
+ * 毫秒时间戳所在的年、季度，与 DateUtil.getYearQuarter(date, false) 一致，格式为 "年_季度"，例如 2021_2
+ *
+ * @author hanmeng
+ */
+@Description(name = YearQuarterUDF.NAME,
+        value = "_FUNC_(millis) - 毫秒时间戳所在的 年_季度",
+        extended = "Example: SELECT _FUNC_(1617206400000) -> '2021_2'")
+@VectorizedExpressions({YearQuarterUDF.Vectorized.class})
+public class YearQuarterUDF extends MillisToStringUDF {
+
+    public static final String NAME = "date_util_year_quarter";
+
+    public YearQuarterUDF() {
+        super(NAME);
+    }
+
+    @Override
+    protected String apply(long millis) {
+        return DateUtil.getYearQuarter(new Date(millis), false);
+    }
+
+    /**
+     * 向量化实现，直接由 epoch day 换算年月，不创建 Date / String
+     */
+    public static class Vectorized extends LongToStringExpression {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient byte[] scratch;
+
+        public Vectorized() {
+            super();
+        }
+
+        public Vectorized(int inputColumn, int outputColumnNum) {
+            super(inputColumn, outputColumnNum);
+        }
+
+        @Override
+        protected boolean assign(BytesColumnVector out, int row, long value) {
+            if (scratch == null) {
+                scratch = new byte[SCRATCH_BYTES];
+            }
+            int packed = CalendarMath.civilFromDays(EpochDateUtil.epochDay(value));
+            int quarter = (CalendarMath.packedMonth(packed) - 1) / 3 + 1;
+            out.setVal(row, scratch, 0, writeYearAnd(scratch, CalendarMath.packedYear(packed), quarter));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package dateutil.demo.utils;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量日期格式化 / 解析
+ * 输入输出都是数组，单个元素失败不会中断整批，失败的下标（升序）作为返回值单独给出。
+ * 元素数超过 {@link #PARALLEL_THRESHOLD} 时按 {@link #CHUNK_SIZE} 分块交给 ForkJoinPool 并行处理，
+ * 每个工作线程复用自己的 StringBuilder，定长 pattern 走 FixedDateParser / FixedDateFormatter
+ *
+ * @author hanmeng
+ */
+public final class BulkDateConverter {
+
+    /**
+     * 超过该数量才并行
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+    /**
+     * 并行时每块的元素数
+     */
+    public static final int CHUNK_SIZE = 1 << 12;
+
+    private static final int[] NO_FAILURES = new int[0];
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private BulkDateConverter() {
+    }
+
+    /**
+     * 批量格式化为字符串
+     *
+     * @param millis
+     * @param pattern
+     * @param out     长度不小于 millis.length
+     * @return 失败的下标，pattern 合法时总是为空
+     */
+    public static int[] format(long[] millis, String pattern, String[] out) {
+        checkLength(millis.length, out.length);
+        FastDateFormat formatter = FixedDateFormatter.supports(pattern) ? null : DateFormatRegistry.get(pattern);
+        return run(millis.length, chunk -> {
+            StringBuilder sb = SCRATCH.get();
+            for (int i = chunk.from; i < chunk.to; i++) {
+                sb.setLength(0);
+                if (formatter == null) {
+                    FixedDateFormatter.format(millis[i], pattern, sb);
+                } else {
+                    formatter.format(millis[i], sb);
+                }
+                out[i] = sb.toString();
+            }
+        });
+    }
+
+    /**
+     * 批量格式化为定长 ASCII 字节，第 i 个结果位于 out[i * width, (i + 1) * width)，width 为 FixedDateFormatter.length(pattern)
+     * 超出 0-9999 年、无法按定长表示的元素记为失败，对应位置填 0
+     *
+     * @param millis
+     * @param pattern 见 FixedDateFormatter.supports
+     * @param out     长度不小于 millis.length * width
+     * @return 失败的下标
+     */
+    public static int[] formatToBytes(long[] millis, String pattern, byte[] out) {
+        int width = FixedDateFormatter.length(pattern);
+        checkLength((long) millis.length * width, out.length);
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        return run(millis.length, chunk -> {
+            for (int i = chunk.from; i < chunk.to; i++) {
+                int offset = i * width;
+                int year = CalendarMath.packedYear(CalendarMath.civilFromDays(
+                        Math.floorDiv(zone.toLocal(millis[i]), CalendarMath.MILLIS_PER_DAY)));
+                if (year < 0 || year > 9999) {
+                    Arrays.fill(out, offset, offset + width, (byte) 0);
+                    chunk.fail(i);
+                } else {
+                    FixedDateFormatter.format(millis[i], pattern, out, offset);
+                }
+            }
+        });
+    }
+
+    /**
+     * 批量解析为毫秒时间戳，语义同 DateUtil.tryParse，失败的元素写入 DateUtil.PARSE_FAILED
+     *
+     * @param texts
+     * @param pattern
+     * @param out     长度不小于 texts.length
+     * @return 失败的下标
+     */
+    public static int[] parse(String[] texts, String pattern, long[] out) {
+        checkLength(texts.length, out.length);
+        return run(texts.length, chunk -> {
+            for (int i = chunk.from; i < chunk.to; i++) {
+                long millis = DateUtil.tryParse(texts[i], pattern);
+                out[i] = millis;
+                if (millis == DateUtil.PARSE_FAILED) {
+                    chunk.fail(i);
+                }
+            }
+        });
+    }
+
+    private static void checkLength(long required, int actual) {
+        if (actual < required) {
+            throw new IllegalArgumentException("output array too small: " + actual + " < " + required);
+        }
+    }
+
+    private static int[] run(int length, Worker worker) {
+        if (length == 0) {
+            return NO_FAILURES;
+        }
+        if (length <= PARALLEL_THRESHOLD) {
+            Chunk chunk = new Chunk(0, length);
+            worker.convert(chunk);
+            return chunk.failures();
+        }
+        Chunk[] chunks = new Chunk[(length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Chunk(i * CHUNK_SIZE, Math.min(length, (i + 1) * CHUNK_SIZE));
+        }
+        ForkJoinPool.commonPool().invoke(new Batch(worker, chunks, 0, chunks.length));
+
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            total += chunk.failedCount;
+        }
+        if (total == 0) {
+            return NO_FAILURES;
+        }
+        int[] failed = new int[total];
+        int n = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.failed, 0, failed, n, chunk.failedCount);
+            n += chunk.failedCount;
+        }
+        return failed;
+    }
+
+    private interface Worker {
+        void convert(Chunk chunk);
+    }
+
+    /**
+     * [from, to) 区间及其失败下标
+     */
+    private static final class Chunk {
+        private final int from;
+        private final int to;
+        private int[] failed = NO_FAILURES;
+        private int failedCount;
+
+        private Chunk(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void fail(int index) {
+            if (failedCount == failed.length) {
+                failed = Arrays.copyOf(failed, Math.max(8, failedCount * 2));
+            }
+            failed[failedCount++] = index;
+        }
+
+        private int[] failures() {
+            return failedCount == 0 ? NO_FAILURES : Arrays.copyOf(failed, failedCount);
+        }
+    }
+
+    /**
+     * 二分拆分块区间，叶子处理单个块
+     */
+    private static final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Worker worker;
+        private final Chunk[] chunks;
+        private final int from;
+        private final int to;
+
+        private Batch(Worker worker, Chunk[] chunks, int from, int to) {
+            this.worker = worker;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                worker.convert(chunks[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Batch(worker, chunks, from, mid), new Batch(worker, chunks, mid, to));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package dateutil.demo.utils;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 工作日日历：周一至周五为工作日，在此基础上叠加节假日（工作日变休息日）和调休（周末变工作日）。
+ * 构造时对覆盖的年份按 epoch day 计算工作日数的前缀和以及第 k 个工作日所在的日期，
+ * 是否工作日、两日期间的工作日数、加减 N 个工作日都是 O(1)；覆盖范围之外按周一至周五计算，同样是 O(1)。
+ * 实例不可变，可被多个线程共享，多个日历见 {@link BusinessCalendarRegistry}
+ *
+ * @author hanmeng
+ */
+public final class BusinessCalendar {
+
+    public static final String HOLIDAY = "holiday";
+    public static final String WORKDAY = "workday";
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int fromYear;
+    @Getter
+    private final int toYear;
+    /**
+     * 覆盖范围 [firstDay, endDay)
+     */
+    private final int firstDay;
+    private final int endDay;
+    private final boolean[] working;
+    /**
+     * prefix[i] 为 [firstDay, firstDay + i) 内的工作日数
+     */
+    private final int[] prefix;
+    /**
+     * 覆盖范围内第 k 个工作日的 epoch day
+     */
+    private final int[] workingDays;
+
+    private BusinessCalendar(String name, int fromYear, int toYear, int[] holidays, int[] workdays) {
+        this.name = name;
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+        this.firstDay = (int) CalendarMath.daysFromCivil(fromYear, 1, 1);
+        this.endDay = (int) CalendarMath.daysFromCivil(toYear + 1, 1, 1);
+        int length = endDay - firstDay;
+        this.working = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            working[i] = EpochDateUtil.dayOfWeek(firstDay + i) <= 5;
+        }
+        for (int day : holidays) {
+            if (day >= firstDay && day < endDay) {
+                working[day - firstDay] = false;
+            }
+        }
+        for (int day : workdays) {
+            if (day >= firstDay && day < endDay) {
+                working[day - firstDay] = true;
+            }
+        }
+        this.prefix = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            prefix[i + 1] = prefix[i] + (working[i] ? 1 : 0);
+        }
+        this.workingDays = new int[prefix[length]];
+        for (int i = 0, k = 0; i < length; i++) {
+            if (working[i]) {
+                workingDays[k++] = firstDay + i;
+            }
+        }
+    }
+
+    /**
+     * @param name     日历名
+     * @param fromYear 覆盖的第一年
+     * @param toYear   覆盖的最后一年（含）
+     * @param holidays 节假日的 epoch day，覆盖范围外的忽略
+     * @param workdays 调休工作日的 epoch day，覆盖范围外的忽略
+     * @return
+     */
+    public static BusinessCalendar of(String name, int fromYear, int toYear, int[] holidays, int[] workdays) {
+        if (fromYear > toYear || fromYear < 1600 || toYear > 9999) {
+            throw new IllegalArgumentException("invalid year range: " + fromYear + "-" + toYear);
+        }
+        return new BusinessCalendar(name, fromYear, toYear, holidays, workdays);
+    }
+
+    /**
+     * 从本地文件加载，见 {@link #parse(String, List)}
+     *
+     * @param name
+     * @param file UTF-8 文本
+     * @return
+     * @throws IOException
+     */
+    public static BusinessCalendar load(String name, Path file) throws IOException {
+        return parse(name, Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析节假日文本，每行一个日期：
+     * <pre>
+     * # 注释
+     * 2021-10-01 holiday 国庆节
+     * 2021-10-09 workday 国庆节调休
+     * </pre>
+     * 日期之后为 holiday（休息）或 workday（上班），其后内容忽略；覆盖范围为文件中出现的最早到最晚年份
+     *
+     * @param name
+     * @param lines
+     * @return
+     */
+    public static BusinessCalendar parse(String name, List<String> lines) {
+        int[] holidays = new int[lines.size()];
+        int[] workdays = new int[lines.size()];
+        int holidayCount = 0;
+        int workdayCount = 0;
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n).trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            String[] fields = line.split("\\s+", 3);
+            long millis = fields.length < 2 ? DateUtil.PARSE_FAILED : FixedDateParser.parse(fields[0], DateUtil.DATE_FORMAT_YMD);
+            if (millis == DateUtil.PARSE_FAILED) {
+                throw new IllegalArgumentException("invalid line " + (n + 1) + ": " + line);
+            }
+            int day = EpochDateUtil.epochDay(millis);
+            if (HOLIDAY.equalsIgnoreCase(fields[1])) {
+                holidays[holidayCount++] = day;
+            } else if (WORKDAY.equalsIgnoreCase(fields[1])) {
+                workdays[workdayCount++] = day;
+            } else {
+                throw new IllegalArgumentException("invalid line " + (n + 1) + ": " + line);
+            }
+            int year = CalendarMath.packedYear(CalendarMath.civilFromDays(day));
+            minYear = Math.min(minYear, year);
+            maxYear = Math.max(maxYear, year);
+        }
+        if (minYear > maxYear) {
+            throw new IllegalArgumentException("empty calendar: " + name);
+        }
+        return of(name, minYear, maxYear, Arrays.copyOf(holidays, holidayCount), Arrays.copyOf(workdays, workdayCount));
+    }
+
+    /**
+     * 是否工作日
+     *
+     * @param epochDay
+     * @return
+     */
+    public boolean isWorkingDay(int epochDay) {
+        if (epochDay >= firstDay && epochDay < endDay) {
+            return working[epochDay - firstDay];
+        }
+        return EpochDateUtil.dayOfWeek(epochDay) <= 5;
+    }
+
+    /**
+     * 毫秒时间戳所在的本地日期是否工作日
+     *
+     * @param millis
+     * @return
+     */
+    public boolean isWorkingDay(long millis) {
+        return isWorkingDay(EpochDateUtil.epochDay(millis));
+    }
+
+    /**
+     * [startDay, endDay) 内的工作日数，endDay 早于 startDay 时为负数
+     *
+     * @param startDay
+     * @param endDay
+     * @return
+     */
+    public int workingDaysBetween(int startDay, int endDay) {
+        return rank(endDay) - rank(startDay);
+    }
+
+    /**
+     * 两个时间所在本地日期之间的工作日数，含开始日、不含结束日
+     *
+     * @param startMillis
+     * @param endMillis
+     * @return
+     */
+    public int workingDaysBetween(long startMillis, long endMillis) {
+        return workingDaysBetween(EpochDateUtil.epochDay(startMillis), EpochDateUtil.epochDay(endMillis));
+    }
+
+    /**
+     * 加减 N 个工作日
+     * amount 大于 0 时为之后的第 amount 个工作日（周五加 1 为下周一，周六加 1 同样为下周一），
+     * 小于 0 时为之前的第 -amount 个工作日，等于 0 时原样返回
+     *
+     * @param epochDay
+     * @param amount
+     * @return
+     */
+    public int addWorkingDays(int epochDay, int amount) {
+        if (amount > 0) {
+            return select(rank(epochDay + 1) + amount - 1);
+        }
+        if (amount < 0) {
+            return select(rank(epochDay) + amount);
+        }
+        return epochDay;
+    }
+
+    /**
+     * 加减 N 个工作日，保持本地时分秒不变，规则同 {@link #addWorkingDays(int, int)}
+     *
+     * @param millis
+     * @param amount
+     * @return
+     */
+    public long addWorkingDays(long millis, int amount) {
+        int day = EpochDateUtil.epochDay(millis);
+        return EpochDateUtil.addDays(millis, addWorkingDays(day, amount) - day);
+    }
+
+    /**
+     * epochDay 之前的工作日数，以覆盖范围的第一天为 0
+     */
+    private int rank(int epochDay) {
+        if (epochDay < firstDay) {
+            return weekdaysBefore(epochDay) - weekdaysBefore(firstDay);
+        }
+        if (epochDay <= endDay) {
+            return prefix[epochDay - firstDay];
+        }
+        return prefix[prefix.length - 1] + weekdaysBefore(epochDay) - weekdaysBefore(endDay);
+    }
+
+    /**
+     * rank 的逆运算：rank 为 k 的工作日
+     */
+    private int select(int k) {
+        if (k < 0) {
+            return weekdayAt(weekdaysBefore(firstDay) + k);
+        }
+        if (k < workingDays.length) {
+            return workingDays[k];
+        }
+        return weekdayAt(weekdaysBefore(endDay) + k - workingDays.length);
+    }
+
+    /**
+     * epochDay 之前的周一至周五天数，以 1969-12-29（周一）为 0
+     */
+    private static int weekdaysBefore(int epochDay) {
+        int days = epochDay + 3;
+        return Math.floorDiv(days, 7) * 5 + Math.min(Math.floorMod(days, 7), 5);
+    }
+
+    /**
+     * weekdaysBefore 的逆运算：之前恰好有 n 个周一至周五的那个周一至周五
+     */
+    private static int weekdayAt(int n) {
+        return Math.floorDiv(n, 5) * 7 + Math.floorMod(n, 5) - 3;
+    }
+
+    /**
+     * 覆盖范围内的工作日数
+     *
+     * @return
+     */
+    public int workingDayCount() {
+        return workingDays.length;
+    }
+}
@@ -0,0 +1,73 @@
+package dateutil.demo.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 工作日日历注册表，按名称同时持有多个日历（如不同国家、不同交易所）
+ * 日历不可变，重新加载时整体替换，正在使用旧实例的线程不受影响
+ *
+ * @author hanmeng
+ */
+public final class BusinessCalendarRegistry {
+
+    private static final ConcurrentMap<String, BusinessCalendar> CALENDARS = new ConcurrentHashMap<>();
+
+    private BusinessCalendarRegistry() {
+    }
+
+    /**
+     * 注册或替换同名日历
+     *
+     * @param calendar
+     * @return 被替换的日历，没有时为 null
+     */
+    public static BusinessCalendar register(BusinessCalendar calendar) {
+        return CALENDARS.put(calendar.getName(), calendar);
+    }
+
+    /**
+     * 从本地文件加载并注册，文件格式见 {@link BusinessCalendar#parse(String, java.util.List)}
+     *
+     * @param name
+     * @param file
+     * @return 加载的日历
+     * @throws IOException
+     */
+    public static BusinessCalendar load(String name, Path file) throws IOException {
+        BusinessCalendar calendar = BusinessCalendar.load(name, file);
+        register(calendar);
+        return calendar;
+    }
+
+    /**
+     * 获取已注册的日历
+     *
+     * @param name
+     * @return
+     */
+    public static BusinessCalendar get(String name) {
+        BusinessCalendar calendar = CALENDARS.get(name);
+        if (calendar == null) {
+            throw new IllegalArgumentException("unknown business calendar: " + name);
+        }
+        return calendar;
+    }
+
+    public static BusinessCalendar remove(String name) {
+        return CALENDARS.remove(name);
+    }
+
+    /**
+     * 已注册的日历名
+     *
+     * @return 只读视图
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(CALENDARS.keySet());
+    }
+}
@@ -0,0 +1,241 @@
+package dateutil.demo.utils;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 粗粒度缓存时钟
+ * 缓存当天日期串、当天 0 点、本周一/周日、上周日、昨天以及当前秒的 yyyy-MM-dd HH:mm:ss、小时、分钟，
+ * 全部放在一个不可变快照里，读取只是一次 volatile 读。
+ * 默认惰性刷新：读取时发现跨过秒边界才重算秒级字段，跨过 0 点才重算日级字段；
+ * 调用 {@link #startTicking(long)} 后改由后台线程按周期刷新，读取不再取系统时间。
+ * 日期按默认时区计算，重算秒级字段时发现默认时区变了就连同日级字段一起重算，即最迟在下一秒生效；
+ * 时钟只提供毫秒数，测试时可传入手动推进的 Clock
+ *
+ * @author hanmeng
+ */
+public final class CachedClock {
+
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+    private volatile boolean ticking;
+    private ScheduledExecutorService scheduler;
+
+    public CachedClock() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public CachedClock(Clock clock) {
+        this.clock = clock;
+        this.snapshot = build(clock.millis(), null);
+    }
+
+    /**
+     * 启动后台刷新线程（守护线程），之后读取直接返回快照，最多滞后一个周期
+     *
+     * @param periodMillis 刷新周期，毫秒
+     */
+    public synchronized void startTicking(long periodMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dateutil-cached-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 先刷新一次，否则在第一个周期内读到的是构造或上次读取时的旧快照
+        refresh();
+        ticking = true;
+        scheduler.scheduleAtFixedRate(this::refresh, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止后台刷新，恢复惰性刷新
+     */
+    public synchronized void stopTicking() {
+        if (scheduler == null) {
+            return;
+        }
+        ticking = false;
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    public boolean isTicking() {
+        return ticking;
+    }
+
+    /**
+     * 按当前时间刷新快照，未跨秒时不做任何事
+     */
+    public void refresh() {
+        current(clock.millis());
+    }
+
+    private Snapshot current() {
+        return ticking ? snapshot : current(clock.millis());
+    }
+
+    private Snapshot current(long now) {
+        Snapshot s = snapshot;
+        if (now >= s.secondStart && now < s.secondEnd) {
+            return s;
+        }
+        s = build(now, s.day);
+        snapshot = s;
+        return s;
+    }
+
+    private Snapshot build(long now, Day day) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        if (day == null || day.zone != zone || now < day.start || now >= day.end) {
+            day = new Day(zone, zone.epochDay(now));
+        }
+        return new Snapshot(Math.floorDiv(now, CalendarMath.MILLIS_PER_SECOND) * CalendarMath.MILLIS_PER_SECOND, day);
+    }
+
+    /**
+     * 当前秒的开始时刻（毫秒）
+     *
+     * @return
+     */
+    public long currentSecondMillis() {
+        return current().secondStart;
+    }
+
+    /**
+     * 当前时间 yyyy-MM-dd HH:mm:ss
+     *
+     * @return
+     */
+    public String now() {
+        return current().full;
+    }
+
+    public int hourOfDay() {
+        return current().hour;
+    }
+
+    public int minuteOfHour() {
+        return current().minute;
+    }
+
+    /**
+     * 今天的 epoch day
+     *
+     * @return
+     */
+    public int epochDay() {
+        return current().day.epochDay;
+    }
+
+    /**
+     * 今天 0 点（毫秒）
+     *
+     * @return
+     */
+    public long todayStart() {
+        return current().day.start;
+    }
+
+    /**
+     * 明天 0 点（毫秒）
+     *
+     * @return
+     */
+    public long tomorrowStart() {
+        return current().day.end;
+    }
+
+    /**
+     * @return yyyy-MM-dd 格式的今天
+     */
+    public String today() {
+        return current().day.today;
+    }
+
+    /**
+     * @return yyyy-MM-dd 格式的昨天
+     */
+    public String yesterday() {
+        return current().day.yesterday;
+    }
+
+    /**
+     * @return yyyy-MM-dd 格式的本周一
+     */
+    public String monday() {
+        return current().day.monday;
+    }
+
+    /**
+     * @return yyyy-MM-dd 格式的本周日（周一为一周第一天）
+     */
+    public String sunday() {
+        return current().day.sunday;
+    }
+
+    /**
+     * @return yyyy-MM-dd 格式的上周日（今天之前最近的一个周日）
+     */
+    public String lastSunday() {
+        return current().day.lastSunday;
+    }
+
+    /**
+     * 日级字段，跨过 0 点才重算
+     */
+    private static final class Day {
+        private final ZoneOffsetCache zone;
+        private final int epochDay;
+        private final long start;
+        private final long end;
+        private final String today;
+        private final String yesterday;
+        private final String monday;
+        private final String sunday;
+        private final String lastSunday;
+
+        private Day(ZoneOffsetCache zone, int epochDay) {
+            this.zone = zone;
+            this.epochDay = epochDay;
+            this.start = zone.startOfEpochDay(epochDay);
+            this.end = zone.startOfEpochDay(epochDay + 1);
+            int monday = EpochDateUtil.mondayOf(epochDay);
+            this.today = ymd(epochDay);
+            this.yesterday = ymd(epochDay - 1);
+            this.monday = ymd(monday);
+            this.sunday = ymd(monday + DateUtil.WEEK_DAYS - 1);
+            this.lastSunday = ymd(epochDay - EpochDateUtil.dayOfWeek(epochDay));
+        }
+
+        private String ymd(int epochDay) {
+            return FixedDateFormatter.format(zone.startOfEpochDay(epochDay), DateUtil.DATE_FORMAT_YMD);
+        }
+    }
+
+    /**
+     * 秒级快照
+     */
+    private static final class Snapshot {
+        private final long secondStart;
+        private final long secondEnd;
+        private final Day day;
+        private final String full;
+        private final int hour;
+        private final int minute;
+
+        private Snapshot(long secondStart, Day day) {
+            this.secondStart = secondStart;
+            this.secondEnd = Math.min(secondStart + CalendarMath.MILLIS_PER_SECOND, day.end);
+            this.day = day;
+            this.full = FixedDateFormatter.format(secondStart, DateUtil.DATE_FORMAT_FULL);
+            long millisOfDay = Math.floorMod(day.zone.toLocal(secondStart), CalendarMath.MILLIS_PER_DAY);
+            this.hour = (int) (millisOfDay / CalendarMath.MILLIS_PER_HOUR);
+            this.minute = (int) (millisOfDay / CalendarMath.MILLIS_PER_MINUTE % 60);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package dateutil.demo.utils;
+
+/**
+ * 公历日期的纯算术换算（epoch day 与年月日互转），不创建 Calendar / Date 对象
+ *
+ * @author hanmeng
+ */
+public final class CalendarMath {
+    public static final long MILLIS_PER_SECOND = 1000L;
+    public static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    public static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    public static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    /**
+     * 1970-01-01 到 0000-03-01 的天数
+     */
+    private static final int DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private CalendarMath() {
+    }
+
+    /**
+     * 是否闰年
+     *
+     * @param year
+     * @return
+     */
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 指定年月的天数
+     *
+     * @param year
+     * @param month 1-12
+     * @return
+     */
+    public static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 年月日转换为 epoch day（1970-01-01 为第0天）
+     *
+     * @param year
+     * @param month 1-12
+     * @param day   1-31
+     * @return
+     */
+    public static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * DAYS_PER_CYCLE + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * epoch day 转换为年月日，结果打包为一个 int，用 {@link #packedYear}、{@link #packedMonth}、{@link #packedDay} 取值
+     *
+     * @param epochDay
+     * @return
+     */
+    public static int civilFromDays(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+        long doe = z - era * DAYS_PER_CYCLE;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        return year << 9 | month << 5 | day;
+    }
+
+    public static int packedYear(int packed) {
+        return packed >> 9;
+    }
+
+    public static int packedMonth(int packed) {
+        return (packed >> 5) & 0xF;
+    }
+
+    public static int packedDay(int packed) {
+        return packed & 0x1F;
+    }
+}
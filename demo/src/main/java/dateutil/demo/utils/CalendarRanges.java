@@ -0,0 +1,192 @@
+package dateutil.demo.utils;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 惰性的日历区间枚举：两个时间之间的每小时 / 天 / 周 / 月 / 季度
+ * 与 getMonthListBetween、getWeekDays 等一次性构造 ArrayList 的方法不同，这里返回基本类型流，
+ * 元素在消费时才计算，内存占用与区间长度无关。底层是 IntStream / LongStream 的 rangeClosed 再做映射，
+ * 按下标二分切分，parallel() 时各线程分到的元素数基本相等。
+ * 区间两端都包含：from 所在的单位是第一个元素，to 所在的单位是最后一个元素；from 晚于 to 时为空流。
+ * 所有日历单位都按默认时区的本地时间划分
+ *
+ * @author hanmeng
+ */
+public final class CalendarRanges {
+
+    /**
+     * 1970-01-05 是周一
+     */
+    private static final int FIRST_MONDAY = 4;
+
+    private CalendarRanges() {
+    }
+
+    /**
+     * 每个本地小时的开始时间（毫秒），按本地时间逐小时递进，半小时的夏令时跳变后仍落在本地整点。
+     * 整个落在夏令时空档内的小时不出现；整点落在空档内时（如 Australia/Lord_Howe 的 02:00 跳到 02:30）取跳变后的第一个时刻；
+     * 重叠区间内重复的小时只出现一次，与 {@link ZoneOffsetCache#toUtc(long)} 一样取标准时间
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static LongStream hours(long from, long to) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        return LongStream.rangeClosed(localHour(zone, from), localHour(zone, to))
+                .filter(hour -> localHour(zone, zone.toUtc(hour * CalendarMath.MILLIS_PER_HOUR)) == hour)
+                .map(hour -> zone.toUtc(hour * CalendarMath.MILLIS_PER_HOUR));
+    }
+
+    /**
+     * 每天的 epoch day
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static IntStream days(long from, long to) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        return IntStream.rangeClosed(zone.epochDay(from), zone.epochDay(to));
+    }
+
+    /**
+     * 每天 0 点（毫秒）
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static LongStream dayStarts(long from, long to) {
+        return days(from, to).mapToLong(ZoneOffsetCache.getDefault()::startOfEpochDay);
+    }
+
+    /**
+     * 每周周一的 epoch day
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static IntStream weeks(long from, long to) {
+        int first = weekIndex(from);
+        return IntStream.rangeClosed(first, weekIndex(to)).map(i -> i * DateUtil.WEEK_DAYS + FIRST_MONDAY);
+    }
+
+    /**
+     * 每周周一 0 点（毫秒）
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static LongStream weekStarts(long from, long to) {
+        return weeks(from, to).mapToLong(ZoneOffsetCache.getDefault()::startOfEpochDay);
+    }
+
+    /**
+     * 每个月，编码为 year * 12 + month - 1（month 从 1 开始），见 {@link YearMonths}
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static IntStream months(long from, long to) {
+        return IntStream.rangeClosed(monthIndex(from), monthIndex(to));
+    }
+
+    /**
+     * 每月 1 日 0 点（毫秒）
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static LongStream monthStarts(long from, long to) {
+        return months(from, to).mapToLong(CalendarRanges::monthStart);
+    }
+
+    /**
+     * 每个季度，编码为 year * 4 + quarter - 1（quarter 从 1 开始）
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static IntStream quarters(long from, long to) {
+        return IntStream.rangeClosed(monthIndex(from) / 3, monthIndex(to) / 3);
+    }
+
+    /**
+     * 每季度第一天 0 点（毫秒）
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static LongStream quarterStarts(long from, long to) {
+        return quarters(from, to).mapToLong(q -> monthStart(q * 3));
+    }
+
+    /**
+     * 把开始时间流格式化为字符串，例如 format(days(from, to), "yyyy-MM-dd")
+     *
+     * @param starts
+     * @param pattern
+     * @return
+     */
+    public static Stream<String> format(LongStream starts, String pattern) {
+        if (FixedDateFormatter.supports(pattern)) {
+            return starts.mapToObj(millis -> FixedDateFormatter.format(millis, pattern));
+        }
+        return starts.mapToObj(millis -> DateFormatRegistry.get(pattern).format(millis));
+    }
+
+    /**
+     * 两个日期之间的每一天，格式为 yyyy-MM-dd
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static Stream<String> dayStrings(long from, long to) {
+        return format(dayStarts(from, to), DateUtil.DATE_FORMAT_YMD);
+    }
+
+    /**
+     * 两个日期之间的每个月，格式为 yyyy-MM
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static Stream<String> monthStrings(long from, long to) {
+        return months(from, to).mapToObj(YearMonths::format);
+    }
+
+    public static int yearOfMonth(int month) {
+        return YearMonths.year(month);
+    }
+
+    public static int monthOfYear(int month) {
+        return YearMonths.month(month);
+    }
+
+    private static long localHour(ZoneOffsetCache zone, long millis) {
+        return Math.floorDiv(zone.toLocal(millis), CalendarMath.MILLIS_PER_HOUR);
+    }
+
+    private static int weekIndex(long millis) {
+        return Math.floorDiv(EpochDateUtil.mondayOf(ZoneOffsetCache.getDefault().epochDay(millis)), DateUtil.WEEK_DAYS);
+    }
+
+    private static int monthIndex(long millis) {
+        return YearMonths.of(millis);
+    }
+
+    private static long monthStart(int month) {
+        return YearMonths.startMillis(month);
+    }
+}
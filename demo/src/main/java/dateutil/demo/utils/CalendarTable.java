@@ -0,0 +1,189 @@
+package dateutil.demo.utils;
+
+/**
+ * 预计算的日历查找表
+ * 按 epoch day 下标存放年、月、日、星期、周年/周序号（周一为一周第一天，第一周至少7天，同 getWeeksOfWeekYear）和季度，
+ * 每天打包为一个 int。表只读，构建后可被多个线程无锁共享，查询即一次数组读取。
+ * 默认表覆盖 1900-2100 年，首次使用时构建，可通过系统属性
+ * dateutil.calendarTable.startYear / dateutil.calendarTable.endYear 调整
+ *
+ * @author hanmeng
+ */
+public final class CalendarTable {
+
+    private static final int MAX_SPAN_YEARS = 1 << 10;
+
+    private static final int DAY_SHIFT = 0;
+    private static final int MONTH_SHIFT = 5;
+    private static final int DAY_OF_WEEK_SHIFT = 9;
+    private static final int WEEK_SHIFT = 12;
+    private static final int WEEK_YEAR_SHIFT = 18;
+    private static final int QUARTER_SHIFT = 20;
+    private static final int YEAR_SHIFT = 22;
+
+    private final int startYear;
+    private final int endYear;
+    private final int firstEpochDay;
+    private final int[] days;
+
+    private CalendarTable(int startYear, int endYear) {
+        if (endYear < startYear || endYear - startYear >= MAX_SPAN_YEARS) {
+            throw new IllegalArgumentException("invalid year span: " + startYear + "-" + endYear);
+        }
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.firstEpochDay = (int) CalendarMath.daysFromCivil(startYear, 1, 1);
+        int lastEpochDay = (int) CalendarMath.daysFromCivil(endYear, 12, 31);
+        this.days = new int[lastEpochDay - firstEpochDay + 1];
+
+        int firstMonday = firstMondayOfYear(startYear);
+        int previousFirstMonday = firstMondayOfYear(startYear - 1);
+        int nextYearStart = (int) CalendarMath.daysFromCivil(startYear + 1, 1, 1);
+        int year = startYear;
+        for (int epochDay = firstEpochDay; epochDay <= lastEpochDay; epochDay++) {
+            if (epochDay == nextYearStart) {
+                year++;
+                previousFirstMonday = firstMonday;
+                firstMonday = firstMondayOfYear(year);
+                nextYearStart = (int) CalendarMath.daysFromCivil(year + 1, 1, 1);
+            }
+            int ymd = CalendarMath.civilFromDays(epochDay);
+            int month = CalendarMath.packedMonth(ymd);
+            int week;
+            int weekYearDelta;
+            if (epochDay >= firstMonday) {
+                week = (epochDay - firstMonday) / DateUtil.WEEK_DAYS + 1;
+                weekYearDelta = 0;
+            } else {
+                // 本年第一个周一之前的几天属于上一年的最后一周
+                week = (epochDay - previousFirstMonday) / DateUtil.WEEK_DAYS + 1;
+                weekYearDelta = 1;
+            }
+            days[epochDay - firstEpochDay] = (year - startYear) << YEAR_SHIFT
+                    | ((month - 1) / 3) << QUARTER_SHIFT
+                    | weekYearDelta << WEEK_YEAR_SHIFT
+                    | week << WEEK_SHIFT
+                    | EpochDateUtil.dayOfWeek(epochDay) << DAY_OF_WEEK_SHIFT
+                    | month << MONTH_SHIFT
+                    | CalendarMath.packedDay(ymd) << DAY_SHIFT;
+        }
+    }
+
+    /**
+     * 默认的 1900-2100 年查找表
+     *
+     * @return
+     */
+    public static CalendarTable getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * 构建指定年份区间（含首尾）的查找表
+     *
+     * @param startYear
+     * @param endYear
+     * @return
+     */
+    public static CalendarTable of(int startYear, int endYear) {
+        return new CalendarTable(startYear, endYear);
+    }
+
+    private static int firstMondayOfYear(int year) {
+        int jan1 = (int) CalendarMath.daysFromCivil(year, 1, 1);
+        return jan1 + (8 - EpochDateUtil.dayOfWeek(jan1)) % DateUtil.WEEK_DAYS;
+    }
+
+    /**
+     * epoch day 是否在表的范围内
+     *
+     * @param epochDay
+     * @return
+     */
+    public boolean contains(int epochDay) {
+        return epochDay >= firstEpochDay && epochDay - firstEpochDay < days.length;
+    }
+
+    private int entry(int epochDay) {
+        if (!contains(epochDay)) {
+            throw new IllegalArgumentException("epoch day out of calendar table: " + epochDay);
+        }
+        return days[epochDay - firstEpochDay];
+    }
+
+    public int year(int epochDay) {
+        return startYear + (entry(epochDay) >>> YEAR_SHIFT);
+    }
+
+    /**
+     * @param epochDay
+     * @return 1-12
+     */
+    public int month(int epochDay) {
+        return (entry(epochDay) >>> MONTH_SHIFT) & 0xF;
+    }
+
+    public int dayOfMonth(int epochDay) {
+        return (entry(epochDay) >>> DAY_SHIFT) & 0x1F;
+    }
+
+    /**
+     * @param epochDay
+     * @return 1 为周一，7 为周日
+     */
+    public int dayOfWeek(int epochDay) {
+        return (entry(epochDay) >>> DAY_OF_WEEK_SHIFT) & 0x7;
+    }
+
+    /**
+     * 周序号（周一为一周第一天，第一周至少7天）
+     *
+     * @param epochDay
+     * @return 1-53
+     */
+    public int weekOfWeekYear(int epochDay) {
+        return (entry(epochDay) >>> WEEK_SHIFT) & 0x3F;
+    }
+
+    /**
+     * 周所属的年份，年初第一个周一之前的日期属于上一年
+     *
+     * @param epochDay
+     * @return
+     */
+    public int weekYear(int epochDay) {
+        int entry = entry(epochDay);
+        return startYear + (entry >>> YEAR_SHIFT) - ((entry >>> WEEK_YEAR_SHIFT) & 0x3);
+    }
+
+    /**
+     * @param epochDay
+     * @return 1-4
+     */
+    public int quarter(int epochDay) {
+        return ((entry(epochDay) >>> QUARTER_SHIFT) & 0x3) + 1;
+    }
+
+    public int getStartYear() {
+        return startYear;
+    }
+
+    public int getEndYear() {
+        return endYear;
+    }
+
+    /**
+     * 表占用的内存（字节，含数组对象头）
+     *
+     * @return
+     */
+    public long memoryFootprintBytes() {
+        return 16L + 4L * days.length;
+    }
+
+    private static final class DefaultHolder {
+        private static final CalendarTable INSTANCE = new CalendarTable(
+                Integer.getInteger("dateutil.calendarTable.startYear", 1900),
+                Integer.getInteger("dateutil.calendarTable.endYear", 2100));
+    }
+}
@@ -0,0 +1,74 @@
+package dateutil.demo.utils;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 日期格式化器注册表
+ * 按pattern缓存编译好的 FastDateFormat，实例不可变且线程安全，所有线程共享同一个实例，
+ * 用来替代共享的静态 SimpleDateFormat（线程不安全）以及每次调用都 new SimpleDateFormat 的写法。
+ * 格式化器按当前默认时区创建，每次获取时比较默认时区，TimeZone.setDefault 之后整体换成新时区的一组格式化器，
+ * 与原来每次 new SimpleDateFormat 一样使用调用时的默认时区
+ *
+ * @author hanmeng
+ */
+public final class DateFormatRegistry {
+
+    private static volatile Formats formats = new Formats(TimeZone.getDefault());
+    /**
+     * 由 DateUtil.enableMetrics 设置，为 null 时不统计
+     */
+    static volatile DateUtilMetrics metrics;
+
+    private DateFormatRegistry() {
+    }
+
+    /**
+     * 获取指定pattern的格式化器，首次获取时编译并缓存
+     *
+     * @param pattern SimpleDateFormat 兼容的pattern
+     * @return 线程安全的格式化器
+     */
+    public static FastDateFormat get(String pattern) {
+        Formats current = formats;
+        TimeZone zone = TimeZone.getDefault();
+        if (!current.zone.equals(zone)) {
+            current = new Formats(zone);
+            formats = current;
+        }
+        FastDateFormat format = current.map.get(pattern);
+        DateUtilMetrics m = metrics;
+        if (m != null) {
+            m.formatterLookup(format != null);
+        }
+        if (format == null) {
+            TimeZone formatZone = current.zone;
+            format = current.map.computeIfAbsent(pattern, p -> FastDateFormat.getInstance(p, formatZone));
+        }
+        return format;
+    }
+
+    /**
+     * 已缓存的格式化器数量
+     *
+     * @return
+     */
+    public static int size() {
+        return formats.map.size();
+    }
+
+    /**
+     * 同一默认时区下的格式化器
+     */
+    private static final class Formats {
+        private final TimeZone zone;
+        private final ConcurrentMap<String, FastDateFormat> map = new ConcurrentHashMap<>();
+
+        private Formats(TimeZone zone) {
+            this.zone = zone;
+        }
+    }
+}
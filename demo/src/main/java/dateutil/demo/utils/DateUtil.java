@@ -3,18 +3,23 @@ package dateutil.demo.utils;
 
 
 import dateutil.demo.common.DateRange;
-import dateutil.demo.enums.TimeExtentEnum;
+import dateutil.demo.common.TimeInterval;
+import dateutil.demo.utils.DateUtilMetrics.Operation;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.joda.time.*;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
-import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -38,17 +43,48 @@ public class DateUtil extends DateUtils {
     public static final String DATE_FORMAT_HM = "HH:mm";
     public static final String DATE_FORMAT_YMDHM = "yyyy-MM-dd HH:mm";
     public static final String DATE_FORMAT_YMDHMS = "yyyyMMddHHmmss";
+    public static final String DATE_FORMAT_ISO8601 = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
     public static final long ONE_DAY_MILLS = 3600000 * 24;
     public static final int WEEK_DAYS = 7;
     private static final int dateLength = DATE_FORMAT_YMDHM.length();
+    /**
+     * tryParse 解析失败时的返回值
+     */
+    public static final long PARSE_FAILED = FixedDateParser.INVALID;
+    /**
+     * tryParse 解析失败次数，用于观察上游数据质量
+     */
+    private static final LongAdder PARSE_FAILURES = new LongAdder();
+    /**
+     * 缓存时钟，默认关闭，见 {@link #enableCachedClock(CachedClock)}
+     */
+    private static volatile CachedClock cachedClock;
+    /**
+     * 日期串缓存，默认关闭，见 {@link #enableDayStringCache(DayStringCache)}
+     */
+    private static volatile DayStringCache dayStringCache;
+    /**
+     * 埋点统计，默认关闭，见 {@link #enableMetrics(DateUtilMetrics)}
+     */
+    private static volatile DateUtilMetrics metrics;
+
+    /**
+     * 线程安全的格式化器，统一从 DateFormatRegistry 获取
+     */
+    private static final FastDateFormat sdf = DateFormatRegistry.get(DATE_FORMAT_FULL);
+    private static final FastDateFormat sdf1 = DateFormatRegistry.get(DATE_TIME_PATTERN1);
+    private static final FastDateFormat sdf_yyyyMMdd = DateFormatRegistry.get(DATE_TIME_yyyyMMdd);
+    private static final FastDateFormat sdf_yyyy_MM_dd = DateFormatRegistry.get(DATE_FORMAT_YMD);
+    private static final FastDateFormat sdf_yyyyMM = DateFormatRegistry.get(DATE_TIME_yyyyMM);
+    private static final FastDateFormat sdf_yyyy_MM = DateFormatRegistry.get(DATE_FORMAT_YM);
+    private static final FastDateFormat sdf_yyyy = DateFormatRegistry.get(DATE_FORMAT_Y);
 
-    private static final SimpleDateFormat sdf = new SimpleDateFormat(DATE_FORMAT_FULL);
-    private static final SimpleDateFormat sdf1 = new SimpleDateFormat(DATE_TIME_PATTERN1);
-    private static final SimpleDateFormat sdf_yyyyMMdd = new SimpleDateFormat(DATE_TIME_yyyyMMdd);
-    private static final SimpleDateFormat sdf_yyyy_MM_dd = new SimpleDateFormat(DATE_FORMAT_YMD);
-    private static final SimpleDateFormat sdf_yyyyMM = new SimpleDateFormat(DATE_TIME_yyyyMM);
-    private static final SimpleDateFormat sdf_yyyy_MM = new SimpleDateFormat(DATE_FORMAT_YM);
-    private static final SimpleDateFormat sdf_yyyy = new SimpleDateFormat(DATE_FORMAT_Y);
+    /**
+     * Joda 的时区、年表、格式化器均不可变，创建一次后共享
+     */
+    private static final DateTimeZone ZONE_GMT8 = DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+8"));
+    private static final Chronology CHRONOLOGY_GMT8 = ISOChronology.getInstance(ZONE_GMT8);
+    private static final DateTimeFormatter ISO_DATE_TIME_PARSER = ISODateTimeFormat.dateTime();
 
     private static final Pattern ymd_pattern = Pattern.compile("^[0-9]{4}-[0-9]{1,2}-[0-9]{1,2}$");
     private static final Pattern ym_pattern = Pattern.compile("^[0-9]{4}-[0-9]{1,2}$");
@@ -60,10 +96,7 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Long getCurrentDateUtc() {
-        java.time.LocalDate localDate = java.time.LocalDate.now();
-        ZoneId zone = ZoneId.systemDefault();
-        java.time.Instant instant = localDate.atStartOfDay().atZone(zone).toInstant();
-        return Date.from(instant).getTime();
+        return ZoneOffsetCache.getDefault().startOfDay(System.currentTimeMillis());
     }
 
     /**
@@ -72,10 +105,7 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getCurrentDate() {
-        java.time.LocalDate localDate = java.time.LocalDate.now();
-        ZoneId zone = ZoneId.systemDefault();
-        java.time.Instant instant = localDate.atStartOfDay().atZone(zone).toInstant();
-        return Date.from(instant);
+        return new Date(ZoneOffsetCache.getDefault().startOfDay(System.currentTimeMillis()));
     }
 
     /**
@@ -91,6 +121,17 @@ public class DateUtil extends DateUtils {
         return formatDateToString(date, DATE_FORMAT_FULL);
     }
 
+    /**
+     * 将时间以 yyyy-MM-dd HH:mm:ss 格式追加到 StringBuilder
+     *
+     * @param millis
+     * @param sb
+     * @return 写入的字符数
+     */
+    public static int dateTime2String(long millis, StringBuilder sb) {
+        return FixedDateFormatter.format(millis, DATE_FORMAT_FULL, sb);
+    }
+
     /**
      * 将时间格式化成 yyyyMMddHHmmss 字符串
      *
@@ -101,6 +142,17 @@ public class DateUtil extends DateUtils {
         return formatDateToString(date, DATE_FORMAT_YMDHMS);
     }
 
+    /**
+     * 将时间以 yyyyMMddHHmmss 格式追加到 StringBuilder
+     *
+     * @param millis
+     * @param sb
+     * @return 写入的字符数
+     */
+    public static int date2yMdHmsString(long millis, StringBuilder sb) {
+        return FixedDateFormatter.format(millis, DATE_FORMAT_YMDHMS, sb);
+    }
+
     /**
      * 将yyyyMMddHHmmss字符串类型时间格式化成Date类型
      *
@@ -119,6 +171,7 @@ public class DateUtil extends DateUtils {
      * 字符串转换为制定格式日期
      * (注意：当你输入的日期是2014-12-21 12:12，format对应的应为yyyy-MM-dd HH:mm
      * 否则异常抛出)
+     * 定长格式（DATE_FORMAT_YMD、DATE_FORMAT_FULL 等）优先走 FixedDateParser 快速解析
      *
      * @param date
      * @param format
@@ -126,13 +179,253 @@ public class DateUtil extends DateUtils {
      * @
      */
     public static Date formatStringToDate(String date, String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        try {
-            return sdf.parse(date);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            throw new RuntimeException(ex.toString());
+        long start = metricsStart();
+        long millis = FixedDateParser.parse(date, format);
+        if (millis == FixedDateParser.INVALID) {
+            try {
+                millis = DateFormatRegistry.get(format).parse(date).getTime();
+            } catch (Exception ex) {
+                parseFailed(format);
+                ex.printStackTrace();
+                throw new RuntimeException(ex.toString());
+            }
+        }
+        metricsStop(Operation.PARSE, start);
+        return new Date(millis);
+    }
+
+    /**
+     * 字符串按指定格式解析为毫秒时间戳，失败时返回 {@link #PARSE_FAILED}
+     * 与 formatStringToDate 语义相同，但不抛异常、不打印堆栈，适合脏数据较多的场景，失败次数见 {@link #getParseFailureCount()}；
+     * format 为 null 或不是合法的 pattern 时同样返回 PARSE_FAILED
+     *
+     * @param date
+     * @param format
+     * @return 毫秒时间戳 或 PARSE_FAILED
+     */
+    public static long tryParse(String date, String format) {
+        long start = metricsStart();
+        long millis = FixedDateParser.parse(date, format);
+        if (millis == FixedDateParser.INVALID) {
+            Date parsed = null;
+            if (StringUtils.isNotEmpty(date) && format != null) {
+                try {
+                    parsed = DateFormatRegistry.get(format).parse(date, new ParsePosition(0));
+                } catch (IllegalArgumentException e) {
+                    // 非法的 pattern 与解析失败一样返回 PARSE_FAILED
+                }
+            }
+            if (parsed == null) {
+                PARSE_FAILURES.increment();
+                parseFailed(format);
+            }
+            millis = parsed == null ? PARSE_FAILED : parsed.getTime();
+        }
+        metricsStop(Operation.PARSE, start);
+        return millis;
+    }
+
+    /**
+     * 字符串按指定格式解析，结果写入可复用的 result
+     *
+     * @param date
+     * @param format
+     * @param result 解析结果
+     * @return 是否解析成功
+     */
+    public static boolean tryParse(String date, String format, ParseResult result) {
+        result.set(tryParse(date, format));
+        return result.isSuccess();
+    }
+
+    /**
+     * 从 ASCII 字节的 [offset, offset + length) 按指定格式解析，语义同 {@link #tryParse(String, String)}
+     * 定长格式和 DATE_FORMAT_ISO8601 直接在字节上解析，其余情况才解码为 String
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     * @param format
+     * @return 毫秒时间戳 或 PARSE_FAILED
+     */
+    public static long tryParse(byte[] bytes, int offset, int length, String format) {
+        long start = metricsStart();
+        long millis = FixedDateParser.parse(bytes, offset, length, format);
+        if (millis != FixedDateParser.INVALID) {
+            metricsStop(Operation.PARSE, start);
+            return millis;
+        }
+        // 回退路径由 tryParse(String, String) 计入，越界的 offset / length 按解析失败处理
+        String text = bytes == null || !FixedDateParser.inBounds(bytes.length, offset, length) ? null
+                : new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        return tryParse(text, format);
+    }
+
+    /**
+     * 从 ByteBuffer 的 [offset, offset + length) 绝对位置按指定格式解析，不改变 position，语义同 {@link #tryParse(String, String)}
+     *
+     * @param buf
+     * @param offset
+     * @param length
+     * @param format
+     * @return 毫秒时间戳 或 PARSE_FAILED
+     */
+    public static long tryParse(ByteBuffer buf, int offset, int length, String format) {
+        long start = metricsStart();
+        long millis = FixedDateParser.parse(buf, offset, length, format);
+        if (millis != FixedDateParser.INVALID) {
+            metricsStop(Operation.PARSE, start);
+            return millis;
+        }
+        String text = null;
+        if (buf != null && FixedDateParser.inBounds(buf.limit(), offset, length)) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buf.get(offset + i);
+            }
+            text = new String(bytes, StandardCharsets.US_ASCII);
         }
+        return tryParse(text, format);
+    }
+
+    /**
+     * 批量解析，单个失败不中断，失败元素写入 PARSE_FAILED，大批量时并行
+     *
+     * @param dates
+     * @param format
+     * @param out    长度不小于 dates.length
+     * @return 失败的下标
+     */
+    public static int[] tryParse(String[] dates, String format, long[] out) {
+        return BulkDateConverter.parse(dates, format, out);
+    }
+
+    /**
+     * tryParse 累计解析失败次数
+     *
+     * @return
+     */
+    public static long getParseFailureCount() {
+        return PARSE_FAILURES.sum();
+    }
+
+    /**
+     * 开启缓存时钟，getTodayDate、getCurrentTime、yestodayDate、getMonday、getWeekend、getLastWeekDate、
+     * getHourOfDay、getMinuteOfHour 改为读取缓存，最多每秒重算一次
+     *
+     * @param clock
+     */
+    public static void enableCachedClock(CachedClock clock) {
+        cachedClock = clock;
+    }
+
+    /**
+     * 关闭缓存时钟，恢复每次实时计算
+     */
+    public static void disableCachedClock() {
+        cachedClock = null;
+    }
+
+    /**
+     * 开启日期串缓存，Date2StringFormat_yyyy_MM_dd、Date2StringFormat_yyyyMMdd、getDateString、lastWeekDate、
+     * getBefore7Dates、lastWeekDates、lastMonthDates 返回缓存中共享的 String
+     *
+     * @param cache
+     */
+    public static void enableDayStringCache(DayStringCache cache) {
+        dayStringCache = cache;
+    }
+
+    /**
+     * 关闭日期串缓存
+     */
+    public static void disableDayStringCache() {
+        dayStringCache = null;
+    }
+
+    /**
+     * 当前开启的日期串缓存
+     *
+     * @return 未开启时为 null
+     */
+    public static DayStringCache getDayStringCache() {
+        return dayStringCache;
+    }
+
+    /**
+     * 开启埋点：解析、格式化、日期运算、周/季度、日期列表几类入口累计次数和耗时，
+     * tryParse / formatStringToDate 按 pattern 累计失败次数，DateFormatRegistry 累计命中次数
+     *
+     * @param m
+     */
+    public static void enableMetrics(DateUtilMetrics m) {
+        metrics = m;
+        DateFormatRegistry.metrics = m;
+    }
+
+    /**
+     * 关闭埋点
+     */
+    public static void disableMetrics() {
+        metrics = null;
+        DateFormatRegistry.metrics = null;
+    }
+
+    /**
+     * 当前开启的埋点统计
+     *
+     * @return 未开启时为 null
+     */
+    public static DateUtilMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 埋点关闭时返回 0，不读时钟
+     */
+    private static long metricsStart() {
+        return metrics == null ? 0L : System.nanoTime();
+    }
+
+    private static void metricsStop(Operation operation, long start) {
+        DateUtilMetrics m = metrics;
+        // start 为 0 说明开始时埋点未开启
+        if (m != null && start != 0L) {
+            m.record(operation, start);
+        }
+    }
+
+    private static void parseFailed(String format) {
+        DateUtilMetrics m = metrics;
+        if (m != null) {
+            m.parseFailed(format);
+        }
+    }
+
+    /**
+     * 按天精度 pattern 格式化，开启缓存时走缓存
+     */
+    private static String formatDay(long millis, String pattern) {
+        DayStringCache cache = dayStringCache;
+        if (cache != null) {
+            return cache.format(millis, pattern);
+        }
+        return FixedDateFormatter.format(millis, pattern);
+    }
+
+    /**
+     * 本地日期（epoch day）格式化为 yyyy-MM-dd，开启缓存时走缓存
+     */
+    private static String formatEpochDay(int epochDay) {
+        DayStringCache cache = dayStringCache;
+        if (cache != null) {
+            return cache.format(epochDay, DATE_FORMAT_YMD);
+        }
+        return FixedDateFormatter.format(ZoneOffsetCache.getDefault().startOfEpochDay(epochDay), DATE_FORMAT_YMD);
+    }
+
+    private static int epochDay(LocalDate date) {
+        return (int) CalendarMath.daysFromCivil(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
     }
 
     /**
@@ -143,8 +436,66 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String formatDateToString(Date time, String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        return sdf.format(time);
+        long start = metricsStart();
+        String result = FixedDateFormatter.supports(format)
+                ? FixedDateFormatter.format(time.getTime(), format)
+                : DateFormatRegistry.get(format).format(time);
+        metricsStop(Operation.FORMAT, start);
+        return result;
+    }
+
+    /**
+     * 批量格式化，大批量时并行
+     *
+     * @param millis
+     * @param format
+     * @return
+     */
+    public static String[] formatDateToString(long[] millis, String format) {
+        String[] result = new String[millis.length];
+        BulkDateConverter.format(millis, format, result);
+        return result;
+    }
+
+    /**
+     * 日期按指定格式追加到 StringBuilder，pattern须为本类的格式常量，不产生中间对象
+     *
+     * @param millis 毫秒时间戳
+     * @param format
+     * @param sb
+     * @return 写入的字符数
+     */
+    public static int formatDateToString(long millis, String format, StringBuilder sb) {
+        long start = metricsStart();
+        int written = FixedDateFormatter.format(millis, format, sb);
+        metricsStop(Operation.FORMAT, start);
+        return written;
+    }
+
+    /**
+     * 日期按指定格式写入 char[] 的 offset 位置，pattern须为本类的格式常量
+     *
+     * @param millis 毫秒时间戳
+     * @param format
+     * @param buf
+     * @param offset
+     * @return 写入的字符数
+     */
+    public static int formatDateToString(long millis, String format, char[] buf, int offset) {
+        return FixedDateFormatter.format(millis, format, buf, offset);
+    }
+
+    /**
+     * 日期按指定格式以 ASCII 写入 ByteBuffer 的 offset 位置（不改变 position），pattern须为本类的格式常量
+     *
+     * @param millis 毫秒时间戳
+     * @param format
+     * @param buf
+     * @param offset
+     * @return 写入的字节数
+     */
+    public static int formatDateToString(long millis, String format, ByteBuffer buf, int offset) {
+        return FixedDateFormatter.format(millis, format, buf, offset);
     }
 
     /**
@@ -158,6 +509,17 @@ public class DateUtil extends DateUtils {
         return (!time.before(timeRange[0]) && !time.after(timeRange[1]));
     }
 
+    /**
+     * 判断一个日期是否属于区间内（两端都包含）
+     *
+     * @param time
+     * @param timeRange
+     * @return
+     */
+    public static boolean isTimeInRange(Date time, TimeInterval timeRange) {
+        return timeRange.contains(time.getTime());
+    }
+
     /**
      * 从完整的时间截取精确到分的时间
      *
@@ -180,16 +542,25 @@ public class DateUtil extends DateUtils {
      * @return @
      */
     public static List<String[]> getWeeksByYear(final int year) {
+        long startNanos = metricsStart();
         int weeks = getWeekNumOfYear(year);
         List<String[]> result = new ArrayList<String[]>(weeks);
-        int start = 1;
-        int end = 7;
-        for (int i = 1; i <= weeks; i++) {
-            String[] tempWeek = new String[2];
-            tempWeek[0] = getDateForDayOfWeek(year, i, start);
-            tempWeek[1] = getDateForDayOfWeek(year, i, end);
-            result.add(tempWeek);
+        if (WeekTable.supports(year)) {
+            WeekTable table = WeekTable.of(year, Calendar.MONDAY);
+            for (int i = 1; i <= weeks; i++) {
+                result.add(new String[]{table.date(i, Calendar.MONDAY), table.date(i, Calendar.SUNDAY)});
+            }
+        } else {
+            int start = Calendar.MONDAY;
+            int end = Calendar.SUNDAY;
+            for (int i = 1; i <= weeks; i++) {
+                String[] tempWeek = new String[2];
+                tempWeek[0] = getDateForDayOfWeek(year, i, start);
+                tempWeek[1] = getDateForDayOfWeek(year, i, end);
+                result.add(tempWeek);
+            }
         }
+        metricsStop(Operation.RANGE_LIST, startNanos);
         return result;
     }
 
@@ -201,15 +572,30 @@ public class DateUtil extends DateUtils {
      * @return @
      */
     public static int[] getLastYearWeek(int year, int week) {
+        return getLastYearWeek(year, week, Calendar.MONDAY);
+    }
+
+    /**
+     * 计算指定年、周的上一年、周，指定周几算一周的第一天（firstDayOfWeek）
+     *
+     * @param year
+     * @param week
+     * @param firstDayOfWeek
+     * @return
+     */
+    public static int[] getLastYearWeek(int year, int week, int firstDayOfWeek) {
         if (week <= 0) {
             throw new IllegalArgumentException("周序号不能小于1！！");
         }
+        if (WeekTable.supports(year)) {
+            return WeekTable.of(year, firstDayOfWeek).previous(week);
+        }
         int[] result = {week, year};
         if (week == 1) {
             // 上一年
             result[1] -= 1;
             // 最后一周
-            result[0] = getWeekNumOfYear(result[1]);
+            result[0] = getWeekNumOfYear(result[1], firstDayOfWeek);
         } else {
             result[0] -= 1;
         }
@@ -224,11 +610,26 @@ public class DateUtil extends DateUtils {
      * @return @
      */
     public static int[] getNextYearWeek(int year, int week) {
+        return getNextYearWeek(year, week, Calendar.MONDAY);
+    }
+
+    /**
+     * 下一个[周，年]，指定周几算一周的第一天（firstDayOfWeek）
+     *
+     * @param year
+     * @param week
+     * @param firstDayOfWeek
+     * @return
+     */
+    public static int[] getNextYearWeek(int year, int week, int firstDayOfWeek) {
         if (week <= 0) {
             throw new IllegalArgumentException("周序号不能小于1！！");
         }
+        if (WeekTable.supports(year)) {
+            return WeekTable.of(year, firstDayOfWeek).next(week);
+        }
         int[] result = {week, year};
-        int weeks = getWeekNumOfYear(year);
+        int weeks = getWeekNumOfYear(year, firstDayOfWeek);
         if (week == weeks) {
             // 下一年
             result[1] += 1;
@@ -257,6 +658,9 @@ public class DateUtil extends DateUtils {
      * @return @
      */
     public static int getWeekNumOfYear(final int year, int firstDayOfWeek) {
+        if (WeekTable.supports(year)) {
+            return WeekTable.weeksOf(year, firstDayOfWeek);
+        }
         // 每年至少有52个周 ，最多有53个周。
         int minWeeks = 52;
         int maxWeeks = 53;
@@ -264,7 +668,7 @@ public class DateUtil extends DateUtils {
         int sIndex = 4;
         String date = getDateForDayOfWeek(year, maxWeeks, firstDayOfWeek);
         // 判断年度是否相符，如果相符说明有53个周。
-        if (date.substring(0, sIndex).equals(year)) {
+        if (Integer.parseInt(date.substring(0, sIndex)) == year) {
             result = maxWeeks;
         }
         return result;
@@ -301,6 +705,9 @@ public class DateUtil extends DateUtils {
      */
     public static String getDateForDayOfWeek(int year, int weekOfYear,
                                              int dayOfWeek, int firstDayOfWeek) {
+        if (WeekTable.supports(year)) {
+            return WeekTable.of(year, firstDayOfWeek).date(weekOfYear, dayOfWeek);
+        }
         Calendar cal = Calendar.getInstance();
         cal.setFirstDayOfWeek(firstDayOfWeek);
         cal.set(Calendar.DAY_OF_WEEK, dayOfWeek);
@@ -317,6 +724,15 @@ public class DateUtil extends DateUtils {
      * @
      */
     public static int getWeekOfDate(String datetime) {
+        long millis = FixedDateParser.parseYmd(datetime);
+        if (millis != FixedDateParser.INVALID) {
+            int epochDay = EpochDateUtil.epochDay(millis);
+            CalendarTable table = CalendarTable.getDefault();
+            if (table.contains(epochDay)) {
+                // 查找表中 1 为周一，Calendar 中 1 为周日
+                return table.dayOfWeek(epochDay) % WEEK_DAYS + 1;
+            }
+        }
         Calendar cal = Calendar.getInstance();
         cal.setFirstDayOfWeek(Calendar.MONDAY);
         cal.setMinimalDaysInFirstWeek(WEEK_DAYS);
@@ -344,12 +760,19 @@ public class DateUtil extends DateUtils {
      */
     public static List<String> getWeekDays(int year, int weekOfYear,
                                            int firstDayOfWeek) {
-        List<String> dates = new ArrayList<String>();
-        int dayOfWeek = firstDayOfWeek;
-        for (int i = 0; i < WEEK_DAYS; i++) {
-            dates.add(getDateForDayOfWeek(year, weekOfYear, dayOfWeek++,
-                    firstDayOfWeek));
+        long start = metricsStart();
+        List<String> dates;
+        if (WeekTable.supports(year)) {
+            dates = WeekTable.of(year, firstDayOfWeek).weekDays(weekOfYear);
+        } else {
+            dates = new ArrayList<String>();
+            int dayOfWeek = firstDayOfWeek;
+            for (int i = 0; i < WEEK_DAYS; i++) {
+                dates.add(getDateForDayOfWeek(year, weekOfYear, dayOfWeek++,
+                        firstDayOfWeek));
+            }
         }
+        metricsStop(Operation.RANGE_LIST, start);
         return dates;
     }
 
@@ -364,20 +787,13 @@ public class DateUtil extends DateUtils {
     public static int[] getWeekAndYear(String queryDate, int weekOffset,
                                        int firstDayOfWeek) {
 
-        Date date = formatStringToDate(queryDate, DATE_FORMAT_YMD);
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.setFirstDayOfWeek(firstDayOfWeek);
-        calendar.setMinimalDaysInFirstWeek(WEEK_DAYS);
-        int year = calendar.getWeekYear();
-        int week = calendar.get(Calendar.WEEK_OF_YEAR);
-        int[] result = {week, year};
+        int[] result = getWeekAndYear(parseToMillis(queryDate, DATE_FORMAT_YMD), firstDayOfWeek);
         switch (weekOffset) {
             case 1:
-                result = getNextYearWeek(year, week);
+                result = getNextYearWeek(result[1], result[0], firstDayOfWeek);
                 break;
             case -1:
-                result = getLastYearWeek(year, week);
+                result = getLastYearWeek(result[1], result[0], firstDayOfWeek);
                 break;
             default:
                 break;
@@ -385,6 +801,33 @@ public class DateUtil extends DateUtils {
         return result;
     }
 
+    /**
+     * 获取时间所在的年、周，每年第一个完整的周为第 1 周
+     *
+     * @param millis         毫秒时间戳
+     * @param firstDayOfWeek 每周以第几天为首日
+     * @return {周, 年}
+     */
+    public static int[] getWeekAndYear(long millis, int firstDayOfWeek) {
+        long start = metricsStart();
+        int epochDay = EpochDateUtil.epochDay(millis);
+        CalendarTable table = CalendarTable.getDefault();
+        int[] result;
+        if (firstDayOfWeek == Calendar.MONDAY && table.contains(epochDay)) {
+            result = new int[]{table.weekOfWeekYear(epochDay), table.weekYear(epochDay)};
+        } else if (WeekTable.supportsWeekAndYear(epochDay)) {
+            result = WeekTable.weekAndYear(epochDay, firstDayOfWeek);
+        } else {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(millis);
+            calendar.setFirstDayOfWeek(firstDayOfWeek);
+            calendar.setMinimalDaysInFirstWeek(WEEK_DAYS);
+            result = new int[]{calendar.get(Calendar.WEEK_OF_YEAR), calendar.getWeekYear()};
+        }
+        metricsStop(Operation.WEEK_QUARTER, start);
+        return result;
+    }
+
     /**
      * 计算个两日期的天数
      *
@@ -393,18 +836,39 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getDaysBetween(String startDate, String endDate) {
+        long startNanos = metricsStart();
         int dayGap = 0;
         if (startDate != null && startDate.length() > 0 && endDate != null
                 && endDate.length() > 0) {
-            Date end = formatStringToDate(endDate, DATE_FORMAT_YMD);
-            Date start = formatStringToDate(startDate, DATE_FORMAT_YMD);
+            long end = parseToMillis(endDate, DATE_FORMAT_YMD);
+            long start = parseToMillis(startDate, DATE_FORMAT_YMD);
             dayGap = getDaysBetween(start, end);
         }
+        metricsStop(Operation.ARITHMETIC, startNanos);
         return dayGap;
     }
 
     private static int getDaysBetween(Date startDate, Date endDate) {
-        return (int) ((endDate.getTime() - startDate.getTime()) / ONE_DAY_MILLS);
+        return getDaysBetween(startDate.getTime(), endDate.getTime());
+    }
+
+    private static int getDaysBetween(long startMillis, long endMillis) {
+        return (int) ((endMillis - startMillis) / ONE_DAY_MILLS);
+    }
+
+    /**
+     * 字符串按指定格式解析为毫秒，定长格式走快速解析，其余与 formatStringToDate 一致
+     *
+     * @param date
+     * @param format
+     * @return
+     */
+    private static long parseToMillis(String date, String format) {
+        long millis = FixedDateParser.parse(date, format);
+        if (millis != FixedDateParser.INVALID) {
+            return millis;
+        }
+        return formatStringToDate(date, format).getTime();
     }
 
     public static int getSecondsBetween(Date startDate, Date endDate) {
@@ -426,6 +890,13 @@ public class DateUtil extends DateUtils {
         return date;
     }
 
+    public static int getDaysGapOfDates(long startMillis, long endMillis) {
+        long start = metricsStart();
+        int days = EpochDateUtil.daysBetween(startMillis, endMillis);
+        metricsStop(Operation.ARITHMETIC, start);
+        return days;
+    }
+
     /**
      * 计算两个日期之间的年份差距
      *
@@ -447,7 +918,7 @@ public class DateUtil extends DateUtils {
     }
 
     /**
-     * 计算两个日期之间的月份差距
+     * 计算两个日期之间的月份差距（整月数），见 {@link YearMonths#monthsBetween(long, long)}
      *
      * @param firstDate
      * @param secondDate
@@ -457,10 +928,7 @@ public class DateUtil extends DateUtils {
         if (firstDate == null || secondDate == null) {
             return 0;
         }
-
-        return (int) ((secondDate.getTime() - firstDate.getTime())
-                / ONE_DAY_MILLS / 30);
-
+        return YearMonths.monthsBetween(firstDate.getTime(), secondDate.getTime());
     }
 
     /**
@@ -540,6 +1008,10 @@ public class DateUtil extends DateUtils {
      * @return yyyy-MM-dd 格式的周一
      */
     public static String getMonday() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.monday();
+        }
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
         Calendar cal = Calendar.getInstance();
         //设置一个星期的第一天，按中国的习惯一个星期的第一天是星期一
@@ -563,7 +1035,10 @@ public class DateUtil extends DateUtils {
      * @return yyyy-MM-dd格式的周日
      */
     public static String getWeekend() {
-
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.sunday();
+        }
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
         Calendar cal = Calendar.getInstance();
         //设置一个星期的第一天，按中国的习惯一个星期的第一天是星期一
@@ -573,7 +1048,7 @@ public class DateUtil extends DateUtils {
         if (dayWeek == 1) {
             dayWeek = 8;
         }
-        cal.add(Calendar.DATE, 4 + cal.getFirstDayOfWeek());
+        cal.add(Calendar.DATE, 8 - dayWeek);
         Date sundayDate = cal.getTime();
         return sdf.format(sundayDate);
     }
@@ -613,6 +1088,21 @@ public class DateUtil extends DateUtils {
         return add(date, Calendar.SECOND, amount);
     }
 
+    /**
+     * 毫秒时间戳增加或者减少天数，见 {@link EpochDateUtil}
+     *
+     * @param millis
+     * @param amount
+     * @return
+     */
+    public static long addDays(long millis, int amount) {
+        return EpochDateUtil.addDays(millis, amount);
+    }
+
+    public static long addSecends(long millis, int amount) {
+        return EpochDateUtil.addSeconds(millis, amount);
+    }
+
     /**
      * 根据指定的日期，类型，增加或减少数量
      *
@@ -625,10 +1115,18 @@ public class DateUtil extends DateUtils {
         if (date == null) {
             throw new IllegalArgumentException("The date must not be null");
         }
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        c.add(calendarField, amount);
-        return c.getTime();
+        long start = metricsStart();
+        Date result;
+        if (EpochDateUtil.isSupportedField(calendarField)) {
+            result = new Date(EpochDateUtil.add(date.getTime(), calendarField, amount));
+        } else {
+            Calendar c = Calendar.getInstance();
+            c.setTime(date);
+            c.add(calendarField, amount);
+            result = c.getTime();
+        }
+        metricsStop(Operation.ARITHMETIC, start);
+        return result;
     }
 
     /**
@@ -637,11 +1135,7 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getCurDateWithMaxTime() {
-        Calendar c = Calendar.getInstance();
-        c.set(Calendar.HOUR_OF_DAY, 23);
-        c.set(Calendar.MINUTE, 59);
-        c.set(Calendar.SECOND, 59);
-        return c.getTime();
+        return new Date(ZoneOffsetCache.getDefault().endOfDay(System.currentTimeMillis()));
     }
 
     /**
@@ -650,17 +1144,12 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getCurDateWithMinTime() {
-        Calendar c = Calendar.getInstance();
-        c.set(Calendar.HOUR_OF_DAY, 0);
-        c.set(Calendar.MINUTE, 0);
-        c.set(Calendar.SECOND, 0);
-        c.set(Calendar.MILLISECOND, 0);
-        return c.getTime();
+        return new Date(ZoneOffsetCache.getDefault().startOfDay(System.currentTimeMillis()));
     }
 
     public static String Date2StringFormat_yyyyMMdd(Date date) {
         if (date != null) {
-            return sdf_yyyyMMdd.format(date);
+            return formatDay(date.getTime(), DATE_TIME_yyyyMMdd);
         } else {
             throw new NullPointerException("DateUtil formatDefaultDate input null date");
         }
@@ -668,12 +1157,16 @@ public class DateUtil extends DateUtils {
 
     public static String Date2StringFormat_yyyy_MM_dd(Date date) {
         if (date != null) {
-            return sdf_yyyy_MM_dd.format(date);
+            return formatDay(date.getTime(), DATE_FORMAT_YMD);
         } else {
             throw new NullPointerException("DateUtil formatDefaultDate input null date");
         }
     }
 
+    public static int Date2StringFormat_yyyy_MM_dd(long millis, StringBuilder sb) {
+        return FixedDateFormatter.format(millis, DATE_FORMAT_YMD, sb);
+    }
+
     public static String formatDefaultDateTime(Date date) {
         if (date != null) {
             return sdf.format(date);
@@ -694,6 +1187,10 @@ public class DateUtil extends DateUtils {
         if (StringUtils.isBlank(dateTimeStr)) {
             return null;
         }
+        long millis = FixedDateParser.parseFull(dateTimeStr);
+        if (millis != FixedDateParser.INVALID) {
+            return new Date(millis);
+        }
         ParsePosition pos = new ParsePosition(0);
         Date date = sdf.parse(dateTimeStr, pos);
         return date;
@@ -711,8 +1208,14 @@ public class DateUtil extends DateUtils {
      * @throws IllegalArgumentException      if the time to parse is invalid
      */
     public static Date parseISOFormatToDate(String time) {
-        DateTimeFormatter parser2 = ISODateTimeFormat.dateTime();
-        return parser2.parseDateTime(time).toDate();
+        // dateTime() 要求带毫秒，快速解析只处理同样带小数部分的输入
+        if (time != null && time.length() > 19 && time.charAt(19) == '.') {
+            long millis = FixedDateParser.parseIso8601(time);
+            if (millis != FixedDateParser.INVALID) {
+                return new Date(millis);
+            }
+        }
+        return ISO_DATE_TIME_PARSER.parseDateTime(time).toDate();
     }
 	/*public static Date getUTCTime(Long time){
 		//1、取得本地时间：
@@ -738,21 +1241,31 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String getYearQuarter(Date date, boolean next) {
-        Date useDate = date != null ? date : new Date();
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(useDate);
-
-        int year = cal.get(Calendar.YEAR);
-        int quarter = getQuarter(cal);
+        long start = metricsStart();
+        long millis = date != null ? date.getTime() : System.currentTimeMillis();
+        int epochDay = EpochDateUtil.epochDay(millis);
+        CalendarTable table = CalendarTable.getDefault();
+        int year;
+        int quarter;
+        if (table.contains(epochDay)) {
+            year = table.year(epochDay);
+            quarter = table.quarter(epochDay);
+        } else {
+            Calendar cal = Calendar.getInstance();
+            cal.setTimeInMillis(millis);
+            year = cal.get(Calendar.YEAR);
+            quarter = getQuarter(cal);
+        }
         if (next) {
             if (quarter == 4) {
-                year += year;
+                year += 1;
                 quarter = 1;
             } else {
                 quarter += 1;
             }
         }
         String str = String.format("%s_%s", year, quarter);
+        metricsStop(Operation.WEEK_QUARTER, start);
         return str;
     }
 
@@ -836,8 +1349,7 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static DateTime utc2DateTime(Long utcTime) {
-        DateTime dateTime = new DateTime(utcTime, DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+8")));
-        return dateTime;
+        return new DateTime(utcTime, CHRONOLOGY_GMT8);
     }
 
     /**
@@ -860,7 +1372,8 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Long getDateUTCTime(Integer plusDays) {
-        return getDateTime(plusDays).getMillis();
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        return zone.startOfEpochDay(zone.epochDay(System.currentTimeMillis()) + plusDays);
     }
 
     /**
@@ -869,6 +1382,10 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getHourOfDay() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.hourOfDay();
+        }
         DateTime dateTime = new DateTime();
         return dateTime.getHourOfDay();
     }
@@ -879,6 +1396,10 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getMinuteOfHour() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.minuteOfHour();
+        }
         DateTime dateTime = new DateTime();
         return dateTime.getMinuteOfHour();
     }
@@ -891,9 +1412,20 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getDaysBetweenV2(Date endTime, Date starTime) {
-        DateTime start = new DateTime(starTime);
-        DateTime end = new DateTime(endTime);
-        return Math.abs(Days.daysBetween(end, start).getDays());
+        return getDaysBetweenV2(endTime.getTime(), starTime.getTime());
+    }
+
+    /**
+     * 同 {@link #getDaysBetweenV2(Date, Date)}，与 Joda 的 Days.daysBetween 一致：按本地时间相减后向 0 取整，
+     * 跨夏令时切换的一天也按一天计
+     *
+     * @param endMillis   结束时间
+     * @param startMillis 开始时间
+     * @return
+     */
+    public static int getDaysBetweenV2(long endMillis, long startMillis) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        return Math.abs(Math.toIntExact((zone.toLocal(startMillis) - zone.toLocal(endMillis)) / CalendarMath.MILLIS_PER_DAY));
     }
 
     /**
@@ -904,9 +1436,18 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getHoursBetweenDays(Date endTime, Date starTime) {
-        DateTime start = new DateTime(starTime);
-        DateTime end = new DateTime(endTime);
-        return Math.abs(Hours.hoursBetween(end, start).getHours());
+        return getHoursBetweenDays(endTime.getTime(), starTime.getTime());
+    }
+
+    /**
+     * 同 {@link #getHoursBetweenDays(Date, Date)}，与 Joda 的 Hours.hoursBetween 一致：按实际经过的时间计，不受夏令时影响
+     *
+     * @param endMillis   结束时间
+     * @param startMillis 开始时间
+     * @return
+     */
+    public static int getHoursBetweenDays(long endMillis, long startMillis) {
+        return Math.abs(Math.toIntExact((startMillis - endMillis) / CalendarMath.MILLIS_PER_HOUR));
     }
 
     /**
@@ -917,9 +1458,18 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static int getMinutesBetweenDays(Date endTime, Date starTime) {
-        DateTime start = new DateTime(starTime);
-        DateTime end = new DateTime(endTime);
-        return Math.abs(Minutes.minutesBetween(end, start).getMinutes());
+        return getMinutesBetweenDays(endTime.getTime(), starTime.getTime());
+    }
+
+    /**
+     * 同 {@link #getMinutesBetweenDays(Date, Date)}，与 Joda 的 Minutes.minutesBetween 一致
+     *
+     * @param endMillis   结束时间
+     * @param startMillis 开始时间
+     * @return
+     */
+    public static int getMinutesBetweenDays(long endMillis, long startMillis) {
+        return Math.abs(Math.toIntExact((startMillis - endMillis) / CalendarMath.MILLIS_PER_MINUTE));
     }
 
     public static int getHoursBetweenDays2(Date starTime, Date endTime) {
@@ -945,6 +1495,10 @@ public class DateUtil extends DateUtils {
     }
 
     public static String yestodayDate() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.yesterday();
+        }
         LocalDate localDate = LocalDate.now().minusDays(1);
         return Date2StringFormat_yyyy_MM_dd(localDate.toDate());
     }
@@ -962,8 +1516,7 @@ public class DateUtil extends DateUtils {
     //上周同一天 往前推7天
     public static String lastWeekDate(String date) {
         LocalDate localDate = LocalDate.parse(date);
-        localDate = localDate.minusDays(7);
-        return Date2StringFormat_yyyy_MM_dd(localDate.toDate());
+        return formatEpochDay(epochDay(localDate) - WEEK_DAYS);
     }
 
     //上个月同一天 如果本月天数大于上个月的天数 则多天返回null
@@ -1008,35 +1561,41 @@ public class DateUtil extends DateUtils {
 
     //（T-1）天往前推7天
     public static List<String> getBefore7Dates(LocalDate date) {
+        long start = metricsStart();
         List<String> indexDates = new ArrayList<>();
-        date = date.minusDays(1);//T-1
-        indexDates.add(Date2StringFormat_yyyy_MM_dd(date.toDate()));
-        for (int i = 1; i < 7; i++) {
-            indexDates.add(Date2StringFormat_yyyy_MM_dd(date.minusDays(i).toDate()));
+        int day = epochDay(date) - 1;//T-1
+        for (int i = 0; i < 7; i++) {
+            indexDates.add(formatEpochDay(day - i));
         }
+        metricsStop(Operation.RANGE_LIST, start);
         return indexDates;
     }
 
     public static List<String> lastWeekDates(LocalDate date) {
         List<String> indexDates = new ArrayList<>();
-        date = date.minusDays(1);//T-1
-        indexDates.add(Date2StringFormat_yyyy_MM_dd(date.minusDays(7).toDate()));
-        for (int i = 1; i < 7; i++) {
-            indexDates.add(Date2StringFormat_yyyy_MM_dd(date.minusDays(i + 7).toDate()));
+        int day = epochDay(date) - 1;//T-1
+        for (int i = 0; i < 7; i++) {
+            indexDates.add(formatEpochDay(day - i - 7));
         }
         return indexDates;
     }
 
     public static List<String> lastMonthDates(LocalDate date) {
         List<String> indexDates = new ArrayList<>();
-        List<String> before = getBefore7Dates(date);
-        String lastMonthDate;
-        for (String p : before) {
-            lastMonthDate = lastMonthDate(p);
-            if (null == lastMonthDate) {
-                continue;
+        int day = epochDay(date) - 1;//T-1
+        for (int i = 0; i < 7; i++) {
+            // 上月同一天，上月没有这一天时跳过，同 lastMonthDate
+            int ymd = CalendarMath.civilFromDays(day - i);
+            int year = CalendarMath.packedYear(ymd);
+            int month = CalendarMath.packedMonth(ymd) - 1;
+            if (month == 0) {
+                year--;
+                month = 12;
+            }
+            int dayOfMonth = CalendarMath.packedDay(ymd);
+            if (dayOfMonth <= CalendarMath.lengthOfMonth(year, month)) {
+                indexDates.add(formatEpochDay((int) CalendarMath.daysFromCivil(year, month, dayOfMonth)));
             }
-            indexDates.add(lastMonthDate);
         }
         return indexDates;
     }
@@ -1082,8 +1641,8 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String zeroTimeStamp(int offset) {
-        long current = System.currentTimeMillis();
-        long zero = (current / (1000 * 3600 * 24) + offset) * (1000 * 3600 * 24) - TimeZone.getDefault().getRawOffset();
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        long zero = zone.startOfEpochDay(zone.epochDay(System.currentTimeMillis()) + offset);
         return String.valueOf(zero);
     }
 
@@ -1153,6 +1712,15 @@ public class DateUtil extends DateUtils {
         if (StringUtils.isBlank(pattern)) {
             pattern = "yyyy-MM-dd HH:mm:ss";
         }
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            if (DATE_FORMAT_FULL.equals(pattern)) {
+                return clock.now();
+            }
+            if (DATE_FORMAT_YMD.equals(pattern)) {
+                return clock.today();
+            }
+        }
         SimpleDateFormat format = new SimpleDateFormat(pattern);
         Calendar c = Calendar.getInstance();
         c.setTime(new Date());
@@ -1168,6 +1736,10 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String getLastWeekDate() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.lastSunday();
+        }
         Calendar calendar = Calendar.getInstance();
         int dayWeek = calendar.get(Calendar.DAY_OF_WEEK);
         //判断是否是周天，老外周天是第一天
@@ -1222,6 +1794,10 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String getTodayDate() {
+        CachedClock clock = cachedClock;
+        if (clock != null) {
+            return clock.today();
+        }
         Calendar calendar = Calendar.getInstance();
         return sdf_yyyy_MM_dd.format(calendar.getTime());
     }
@@ -1233,7 +1809,7 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static String getDateString(Date Date) {
-        return sdf_yyyy_MM_dd.format(Date);
+        return formatDay(Date.getTime(), DATE_FORMAT_YMD);
     }
 
     /**
@@ -1243,6 +1819,10 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getDate(String DateString) {
+        long millis = FixedDateParser.parseYmd(DateString);
+        if (millis != FixedDateParser.INVALID) {
+            return new Date(millis);
+        }
         try {
             return sdf_yyyy_MM_dd.parse(DateString);
         } catch (ParseException e) {
@@ -1258,10 +1838,31 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getAfterNumDate(Date date, int num) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.add(Calendar.DATE, num);
-        return calendar.getTime();
+        return new Date(EpochDateUtil.addDays(date.getTime(), num));
+    }
+
+    /**
+     * 获取指定日期的后N个工作日，num 为负数时为前N个工作日，时分秒不变
+     *
+     * @param date
+     * @param num
+     * @param calendarName 已注册的工作日日历，见 {@link BusinessCalendarRegistry}
+     * @return
+     */
+    public static Date getAfterNumWorkingDate(Date date, int num, String calendarName) {
+        return new Date(BusinessCalendarRegistry.get(calendarName).addWorkingDays(date.getTime(), num));
+    }
+
+    /**
+     * 计算两个日期之间的工作日数，含开始日、不含结束日
+     *
+     * @param startDate
+     * @param endDate
+     * @param calendarName 已注册的工作日日历，见 {@link BusinessCalendarRegistry}
+     * @return
+     */
+    public static int getWorkingDaysBetween(Date startDate, Date endDate, String calendarName) {
+        return BusinessCalendarRegistry.get(calendarName).workingDaysBetween(startDate.getTime(), endDate.getTime());
     }
 
     /**
@@ -1278,31 +1879,13 @@ public class DateUtil extends DateUtils {
     }
 
     /**
-     * 获取时间区间
+     * 获取时间区间，阈值按秒缓存，见 {@link TimeExtentClassifier}
      *
      * @param date
      * @return
      */
     public static String getTimeExtent(Date date) {
-        if (date == null) {
-            return TimeExtentEnum.ONE_YEAR_AGO.getDesc();
-        }
-        Date currentDate = new Date();
-        if (date.after(getBeforeNumDate(currentDate, Calendar.HOUR, 1))) {
-            return TimeExtentEnum.ONE_HOUR.getDesc();
-        } else if (date.after(getBeforeNumDate(currentDate, Calendar.DATE, 1))) {
-            return TimeExtentEnum.ONE_DAY.getDesc();
-        } else if (date.after(getBeforeNumDate(currentDate, Calendar.DATE, 7))) {
-            return TimeExtentEnum.ONE_WEEK.getDesc();
-        } else if (date.after(getBeforeNumDate(currentDate, Calendar.MONTH, 1))) {
-            return TimeExtentEnum.ONE_MONTH.getDesc();
-        } else if (date.after(getBeforeNumDate(currentDate, Calendar.MONTH, 6))) {
-            return TimeExtentEnum.ONE_MONTH_AGO.getDesc();
-        } else if (date.after(getBeforeNumDate(currentDate, Calendar.MONTH, 12))) {
-            return TimeExtentEnum.HALF_YEAR_AGO.getDesc();
-        } else {
-            return TimeExtentEnum.ONE_YEAR_AGO.getDesc();
-        }
+        return TimeExtentClassifier.current().classify(date).getDesc();
     }
 
 
@@ -1313,10 +1896,18 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static Date getBeforeNumDate(Date date, int type, int num) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.add(type, 0 - num);
-        return calendar.getTime();
+        long start = metricsStart();
+        Date result;
+        if (EpochDateUtil.isSupportedField(type)) {
+            result = new Date(EpochDateUtil.add(date.getTime(), type, -num));
+        } else {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(date);
+            calendar.add(type, 0 - num);
+            result = calendar.getTime();
+        }
+        metricsStop(Operation.ARITHMETIC, start);
+        return result;
     }
 
 
@@ -1377,32 +1968,24 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static DateRange getLastQuarter(Date date) {
-        Calendar startCalendar = Calendar.getInstance();
-        startCalendar.setTime(date);
-        startCalendar.set(Calendar.MONTH, ((int) startCalendar.get(Calendar.MONTH) / 3 - 1) * 3);
-        startCalendar.set(Calendar.DAY_OF_MONTH, 1);
-        setMinTime(startCalendar);
-
-        Calendar endCalendar = Calendar.getInstance();
-        endCalendar.setTime(date);
-        endCalendar.set(Calendar.MONTH, ((int) endCalendar.get(Calendar.MONTH) / 3 - 1) * 3 + 2);
-        endCalendar.set(Calendar.DAY_OF_MONTH, endCalendar.getActualMaximum(Calendar.DAY_OF_MONTH));
-        setMaxTime(endCalendar);
-        return new DateRange(startCalendar.getTime(), endCalendar.getTime());
-    }
-
-    private static void setMinTime(Calendar calendar) {
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-    }
-
-    private static void setMaxTime(Calendar calendar) {
-        calendar.set(Calendar.HOUR_OF_DAY, calendar.getActualMaximum(Calendar.HOUR_OF_DAY));
-        calendar.set(Calendar.MINUTE, calendar.getActualMaximum(Calendar.MINUTE));
-        calendar.set(Calendar.SECOND, calendar.getActualMaximum(Calendar.SECOND));
-        calendar.set(Calendar.MILLISECOND, calendar.getActualMaximum(Calendar.MILLISECOND));
+        int epochDay = EpochDateUtil.epochDay(date.getTime());
+        CalendarTable table = CalendarTable.getDefault();
+        int year;
+        int quarter;
+        if (table.contains(epochDay)) {
+            year = table.year(epochDay);
+            quarter = table.quarter(epochDay);
+        } else {
+            int ymd = CalendarMath.civilFromDays(epochDay);
+            year = CalendarMath.packedYear(ymd);
+            quarter = (CalendarMath.packedMonth(ymd) - 1) / 3 + 1;
+        }
+        long quarterStart = EpochDateUtil.startOfEpochDay(
+                (int) CalendarMath.daysFromCivil(year, quarter * 3 - 2, 1));
+        int lastQuarterStartDay = quarter == 1
+                ? (int) CalendarMath.daysFromCivil(year - 1, 10, 1)
+                : (int) CalendarMath.daysFromCivil(year, quarter * 3 - 5, 1);
+        return new DateRange(new Date(EpochDateUtil.startOfEpochDay(lastQuarterStartDay)), new Date(quarterStart - 1));
     }
 
     public static void main(String[] args) throws Exception {
@@ -1444,26 +2027,21 @@ public class DateUtil extends DateUtils {
      * @return
      */
     public static List<String> getMonthListBetween(String minDate, String maxDate) throws ParseException {
-        ArrayList<String> result = new ArrayList<String>();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");//格式化为年月
-
-        Calendar min = Calendar.getInstance();
-        Calendar max = Calendar.getInstance();
-        min.add(Calendar.MONTH, -1);
-        min.setTime(sdf.parse(minDate));
-        min.set(min.get(Calendar.YEAR), min.get(Calendar.MONTH), 1);
-
-        max.setTime(sdf.parse(maxDate));
-        max.set(max.get(Calendar.YEAR), max.get(Calendar.MONTH), 2);
-
-        Calendar curr = min;
-        while (curr.before(max)) {
-            result.add(sdf.format(curr.getTime()));
-            curr.add(Calendar.MONTH, 1);
-        }
-
+        long start = metricsStart();
+        List<String> result = YearMonths.strings(parseYearMonth(minDate), parseYearMonth(maxDate));
+        metricsStop(Operation.RANGE_LIST, start);
         return result;
+    }
 
+    /**
+     * yyyy-MM 解析为 {@link YearMonths} 编码，不是严格的 yyyy-MM 时按原先 SimpleDateFormat 的宽松规则解析
+     */
+    private static int parseYearMonth(String date) throws ParseException {
+        int yearMonth = YearMonths.parse(date);
+        if (yearMonth == YearMonths.INVALID) {
+            yearMonth = YearMonths.of(DateFormatRegistry.get(DATE_FORMAT_YM).parse(date).getTime());
+        }
+        return yearMonth;
     }
 
     /****
@@ -1473,15 +2051,7 @@ public class DateUtil extends DateUtils {
      * @throws ParseException
      */
     public static String subMonth(String date) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
-        Date dt = sdf.parse(date);
-        Calendar rightNow = Calendar.getInstance();
-        rightNow.setTime(dt);
-        rightNow.add(Calendar.MONTH, -1);
-        Date dt1 = rightNow.getTime();
-        String reStr = sdf.format(dt1);
-        return reStr;
-
+        return YearMonths.format(parseYearMonth(date) - 1);
     }
 
     /****
@@ -1525,15 +2095,7 @@ public class DateUtil extends DateUtils {
      * @throws ParseException
      */
     public static String addMonth(String date, int n) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
-        Date dt = sdf.parse(date);
-        Calendar rightNow = Calendar.getInstance();
-        rightNow.setTime(dt);
-        rightNow.add(Calendar.MONTH, n);
-        Date dt1 = rightNow.getTime();
-        String reStr = sdf.format(dt1);
-        return reStr;
-
+        return YearMonths.format(parseYearMonth(date) + n);
     }
 
     /**
@@ -1544,17 +2106,8 @@ public class DateUtil extends DateUtils {
      * @throws ParseException
      */
     public static String subOnlyMonth(String time) throws ParseException {
-        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM");
-        Date date = new Date();
-        if (StringUtils.isNotBlank(time)) {
-            date = format.parse(time);
-        }
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) - 1);
-        date = calendar.getTime();
-        String accDate = format.format(date);
-        return accDate;
+        int yearMonth = StringUtils.isNotBlank(time) ? parseYearMonth(time) : YearMonths.of(System.currentTimeMillis());
+        return YearMonths.format(yearMonth - 1);
     }
 
     /**
@@ -1564,14 +2117,10 @@ public class DateUtil extends DateUtils {
      * @throws ParseException
      */
     public static String subYearMonth(String year) throws ParseException {
-        SimpleDateFormat format = new SimpleDateFormat("yyyy");
-        Date date = format.parse(year);
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.YEAR, calendar.get(Calendar.YEAR) - 1);
-        date = calendar.getTime();
-        String accDate = format.format(date);
-        return accDate + "-12";
+        int y = year != null && y_pattern.matcher(year).matches()
+                ? Integer.parseInt(year)
+                : YearMonths.year(YearMonths.of(DateFormatRegistry.get(DATE_FORMAT_Y).parse(year).getTime()));
+        return YearMonths.format(YearMonths.of(y - 1, 12));
     }
 
     /**
@@ -1582,14 +2131,7 @@ public class DateUtil extends DateUtils {
      * @throws ParseException
      */
     public static String subLastYearMonth(String time) throws ParseException {
-        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM");
-        Date date = format.parse(time);
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.YEAR, calendar.get(Calendar.YEAR) - 1);
-        date = calendar.getTime();
-        String accDate = format.format(date);
-        return accDate;
+        return YearMonths.format(parseYearMonth(time) - 12);
     }
 
     public static Date getThisWeekMonday(Date date) {
@@ -1609,14 +2151,7 @@ public class DateUtil extends DateUtils {
         return cal.getTime();
     }
     public static Date getThisMonthDay(Date date){
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochDateUtil.floorToMonth(date.getTime()));
     }
 
 }
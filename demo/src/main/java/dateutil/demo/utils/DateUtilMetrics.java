@@ -0,0 +1,165 @@
+package dateutil.demo.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * DateUtil 的埋点统计：按操作类别累计调用次数和耗时，按 pattern 累计解析失败次数，以及格式化器注册表的命中情况。
+ * 全部为 LongAdder 累加，不依赖任何监控框架，由调用方（如 Micrometer 的 MeterBinder）按需读取。
+ * 默认关闭，见 {@link DateUtil#enableMetrics(DateUtilMetrics)}，关闭时各埋点只多一次 volatile 读
+ *
+ * @author hanmeng
+ */
+public final class DateUtilMetrics {
+
+    /**
+     * 单独统计失败次数的 pattern 数上限，超出的合并到 {@link #OTHER_PATTERN}，避免脏数据撑爆指标
+     */
+    public static final int MAX_FAILURE_PATTERNS = 64;
+    public static final String OTHER_PATTERN = "other";
+
+    public enum Operation {
+        /**
+         * 字符串 -> 时间
+         */
+        PARSE,
+        /**
+         * 时间 -> 字符串
+         */
+        FORMAT,
+        /**
+         * 日期加减、间隔计算
+         */
+        ARITHMETIC,
+        /**
+         * 周、季度
+         */
+        WEEK_QUARTER,
+        /**
+         * 日期、周、月列表
+         */
+        RANGE_LIST
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LongAdder[] counts = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] nanos = new LongAdder[OPERATIONS.length];
+    private final ConcurrentMap<String, LongAdder> parseFailures = new ConcurrentHashMap<>();
+    private final LongAdder formatterHits = new LongAdder();
+    private final LongAdder formatterMisses = new LongAdder();
+    private volatile Consumer<String> failurePatternListener;
+
+    public DateUtilMetrics() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            counts[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param operation
+     * @param startNanos 开始时的 System.nanoTime()
+     */
+    public void record(Operation operation, long startNanos) {
+        int i = operation.ordinal();
+        counts[i].increment();
+        nanos[i].add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 记录一次解析失败
+     *
+     * @param pattern
+     */
+    public void parseFailed(String pattern) {
+        String key = pattern == null ? OTHER_PATTERN : pattern;
+        LongAdder counter = parseFailures.get(key);
+        if (counter == null) {
+            counter = failureCounter(key);
+        }
+        counter.increment();
+    }
+
+    private LongAdder failureCounter(String pattern) {
+        String key = parseFailures.size() < MAX_FAILURE_PATTERNS ? pattern : OTHER_PATTERN;
+        LongAdder counter = parseFailures.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        LongAdder created = new LongAdder();
+        counter = parseFailures.putIfAbsent(key, created);
+        if (counter != null) {
+            return counter;
+        }
+        Consumer<String> listener = failurePatternListener;
+        if (listener != null) {
+            listener.accept(key);
+        }
+        return created;
+    }
+
+    void formatterLookup(boolean hit) {
+        if (hit) {
+            formatterHits.increment();
+        } else {
+            formatterMisses.increment();
+        }
+    }
+
+    public long count(Operation operation) {
+        return counts[operation.ordinal()].sum();
+    }
+
+    public long totalTime(Operation operation, TimeUnit unit) {
+        return unit.convert(nanos[operation.ordinal()].sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long parseFailureCount(String pattern) {
+        LongAdder counter = parseFailures.get(pattern);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * 出现过解析失败的 pattern
+     *
+     * @return 只读视图
+     */
+    public Map<String, LongAdder> parseFailures() {
+        return Collections.unmodifiableMap(parseFailures);
+    }
+
+    /**
+     * 首次出现解析失败的 pattern 时回调，用于动态注册指标；注册前已出现的 pattern 需调用方自行从 {@link #parseFailures()} 补齐
+     *
+     * @param listener
+     */
+    public void onFailurePattern(Consumer<String> listener) {
+        this.failurePatternListener = listener;
+    }
+
+    /**
+     * DateFormatRegistry 命中已编译格式化器的次数
+     *
+     * @return
+     */
+    public long formatterHitCount() {
+        return formatterHits.sum();
+    }
+
+    /**
+     * DateFormatRegistry 新编译格式化器的次数
+     *
+     * @return
+     */
+    public long formatterMissCount() {
+        return formatterMisses.sum();
+    }
+}
@@ -0,0 +1,190 @@
+package dateutil.demo.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 日期串缓存：(epoch day, 天精度 pattern) -> 格式化结果
+ * 只缓存 yyyy-MM-dd、yyyyMMdd、yyyy-MM、yyyyMM、yyyy 这类一天之内结果不变的 pattern，返回共享的不可变 String。
+ * 采用固定容量的直接映射表，按 key 的哈希分成若干段，每段一把 StampedLock：
+ * 命中时只做乐观读不加锁，未命中时加写锁覆盖所在槽位（原有条目计为淘汰）。
+ * 容量在构造时确定，内存占用有上限，可长期开启
+ *
+ * @author hanmeng
+ */
+public final class DayStringCache {
+
+    private static final String[] PATTERNS = {
+            DateUtil.DATE_FORMAT_YMD,
+            DateUtil.DATE_TIME_yyyyMMdd,
+            DateUtil.DATE_FORMAT_YM,
+            DateUtil.DATE_TIME_yyyyMM,
+            DateUtil.DATE_FORMAT_Y
+    };
+    private static final int PATTERN_BITS = 3;
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int STRIPES = 16;
+    /**
+     * 每个条目的大致内存：key、引用以及 10 个字符的 String
+     */
+    private static final int ENTRY_BYTES = 8 + 4 + 64;
+
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+    private final long[] keys;
+    private final String[] values;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity 最多缓存的条目数，向上取整为 2 的幂，至少为段数
+     */
+    public DayStringCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("invalid capacity: " + capacity);
+        }
+        int size = Math.max(STRIPES, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new long[size];
+        this.values = new String[size];
+        this.mask = size - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * 是否为可缓存的天精度 pattern
+     *
+     * @param pattern
+     * @return
+     */
+    public static boolean supports(String pattern) {
+        return patternIndex(pattern) >= 0;
+    }
+
+    private static int patternIndex(String pattern) {
+        for (int i = 0; i < PATTERNS.length; i++) {
+            if (PATTERNS[i].equals(pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 格式化毫秒时间戳，pattern 不可缓存时直接格式化
+     *
+     * @param millis
+     * @param pattern
+     * @return
+     */
+    public String format(long millis, String pattern) {
+        int index = patternIndex(pattern);
+        if (index < 0) {
+            return DateFormatRegistry.get(pattern).format(millis);
+        }
+        return get(ZoneOffsetCache.getDefault().epochDay(millis), index);
+    }
+
+    /**
+     * 格式化本地日期
+     *
+     * @param epochDay
+     * @param pattern  见 {@link #supports(String)}
+     * @return
+     */
+    public String format(int epochDay, String pattern) {
+        int index = patternIndex(pattern);
+        if (index < 0) {
+            throw new IllegalArgumentException("not a day precision pattern: " + pattern);
+        }
+        return get(epochDay, index);
+    }
+
+    private String get(int epochDay, int patternIndex) {
+        long key = (long) epochDay << PATTERN_BITS | patternIndex;
+        int slot = slot(key);
+        StampedLock lock = locks[slot & (STRIPES - 1)];
+
+        long stamp = lock.tryOptimisticRead();
+        long cachedKey = keys[slot];
+        String cached = values[slot];
+        if (lock.validate(stamp) && cachedKey == key) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        String value = FixedDateFormatter.format(ZoneOffsetCache.getDefault().startOfEpochDay(epochDay), PATTERNS[patternIndex]);
+        stamp = lock.writeLock();
+        try {
+            if (keys[slot] != EMPTY && keys[slot] != key) {
+                evictions.increment();
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 槽位数（最大条目数）
+     *
+     * @return
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * 占满时的大致内存上限（字节）
+     *
+     * @return
+     */
+    public long maxMemoryBytes() {
+        return (long) keys.length * ENTRY_BYTES;
+    }
+
+    /**
+     * 清空条目和统计
+     */
+    public void clear() {
+        for (StampedLock lock : locks) {
+            lock.asWriteLock().lock();
+        }
+        try {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(values, null);
+        } finally {
+            for (StampedLock lock : locks) {
+                lock.asWriteLock().unlock();
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+}
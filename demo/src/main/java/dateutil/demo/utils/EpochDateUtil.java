@@ -0,0 +1,227 @@
+package dateutil.demo.utils;
+
+import java.util.Calendar;
+
+/**
+ * 基于 long 毫秒时间戳 / int epoch day 的日期运算
+ * 与 DateUtil 中 addDays、add、getAfterNumDate、getThisMonthDay 等方法语义一致（按默认时区的本地日历计算），
+ * 但不装箱、不创建 Date / Calendar 对象
+ *
+ * @author hanmeng
+ */
+public final class EpochDateUtil {
+
+    private EpochDateUtil() {
+    }
+
+    /**
+     * 毫秒时间戳所在的本地日期（epoch day）
+     *
+     * @param millis
+     * @return
+     */
+    public static int epochDay(long millis) {
+        return (int) Math.floorDiv(ZoneOffsetCache.getDefault().toLocal(millis), CalendarMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 本地日期 0 点的毫秒时间戳
+     *
+     * @param epochDay
+     * @return
+     */
+    public static long startOfEpochDay(int epochDay) {
+        return ZoneOffsetCache.getDefault().toUtc(epochDay * CalendarMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 增加或减少天数，保持本地时分秒不变
+     *
+     * @param millis
+     * @param amount
+     * @return
+     */
+    public static long addDays(long millis, int amount) {
+        // 与 GregorianCalendar.add 相同：先按原偏移量换算，偏移量变化时在不跨日的前提下修正
+        int offset = ZoneOffsetCache.getDefault().offsetAt(millis);
+        long targetLocal = millis + offset + amount * CalendarMath.MILLIS_PER_DAY;
+        long result = targetLocal - offset;
+        int diff = offset - ZoneOffsetCache.getDefault().offsetAt(result);
+        if (diff != 0) {
+            long adjusted = result + diff;
+            if (Math.floorDiv(ZoneOffsetCache.getDefault().toLocal(adjusted), CalendarMath.MILLIS_PER_DAY)
+                    == Math.floorDiv(targetLocal, CalendarMath.MILLIS_PER_DAY)) {
+                result = adjusted;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 增加或减少秒数
+     *
+     * @param millis
+     * @param amount
+     * @return
+     */
+    public static long addSeconds(long millis, int amount) {
+        return millis + amount * CalendarMath.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * 增加或减少月数，日期超过目标月最后一天时取最后一天（与 Calendar.add(MONTH) 一致）
+     *
+     * @param millis
+     * @param amount
+     * @return
+     */
+    public static long addMonths(long millis, int amount) {
+        if (amount == 0) {
+            // 与 Calendar.add 一样原样返回，否则夏令时重叠区间内的时间会被换算成标准时间
+            return millis;
+        }
+        long local = ZoneOffsetCache.getDefault().toLocal(millis);
+        long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+        long millisOfDay = local - epochDay * CalendarMath.MILLIS_PER_DAY;
+        int ymd = CalendarMath.civilFromDays(epochDay);
+        int monthIndex = Math.addExact(CalendarMath.packedYear(ymd) * 12 + CalendarMath.packedMonth(ymd) - 1, amount);
+        int year = Math.floorDiv(monthIndex, 12);
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        int day = Math.min(CalendarMath.packedDay(ymd), CalendarMath.lengthOfMonth(year, month));
+        long target = CalendarMath.daysFromCivil(year, month, day) * CalendarMath.MILLIS_PER_DAY + millisOfDay;
+        return ZoneOffsetCache.getDefault().toUtc(target);
+    }
+
+    /**
+     * 是否支持该 Calendar 字段的加减
+     *
+     * @param calendarField
+     * @return
+     */
+    public static boolean isSupportedField(int calendarField) {
+        switch (calendarField) {
+            case Calendar.MILLISECOND:
+            case Calendar.SECOND:
+            case Calendar.MINUTE:
+            case Calendar.HOUR:
+            case Calendar.HOUR_OF_DAY:
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.DAY_OF_YEAR:
+            case Calendar.DAY_OF_WEEK:
+            case Calendar.WEEK_OF_YEAR:
+            case Calendar.WEEK_OF_MONTH:
+            case Calendar.MONTH:
+            case Calendar.YEAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 根据 Calendar 字段增加或减少数量，语义同 Calendar.add
+     *
+     * @param millis
+     * @param calendarField 见 {@link #isSupportedField(int)}
+     * @param amount
+     * @return
+     */
+    public static long add(long millis, int calendarField, int amount) {
+        switch (calendarField) {
+            case Calendar.MILLISECOND:
+                return millis + amount;
+            case Calendar.SECOND:
+                return millis + amount * CalendarMath.MILLIS_PER_SECOND;
+            case Calendar.MINUTE:
+                return millis + amount * CalendarMath.MILLIS_PER_MINUTE;
+            case Calendar.HOUR:
+            case Calendar.HOUR_OF_DAY:
+                return millis + amount * CalendarMath.MILLIS_PER_HOUR;
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.DAY_OF_YEAR:
+            case Calendar.DAY_OF_WEEK:
+                return addDays(millis, amount);
+            case Calendar.WEEK_OF_YEAR:
+            case Calendar.WEEK_OF_MONTH:
+                return addDays(millis, amount * DateUtil.WEEK_DAYS);
+            case Calendar.MONTH:
+                return addMonths(millis, amount);
+            case Calendar.YEAR:
+                return addMonths(millis, amount * 12);
+            default:
+                throw new IllegalArgumentException("unsupported calendar field: " + calendarField);
+        }
+    }
+
+    /**
+     * 所在本地日期的 0 点
+     *
+     * @param millis
+     * @return
+     */
+    public static long floorToDay(long millis) {
+        return startOfEpochDay(epochDay(millis));
+    }
+
+    /**
+     * 所在周（周一为一周第一天）周一的 0 点
+     *
+     * @param millis
+     * @return
+     */
+    public static long floorToWeek(long millis) {
+        return startOfEpochDay(mondayOf(epochDay(millis)));
+    }
+
+    /**
+     * 所在月第一天的 0 点
+     *
+     * @param millis
+     * @return
+     */
+    public static long floorToMonth(long millis) {
+        return startOfEpochDay(firstDayOfMonth(epochDay(millis)));
+    }
+
+    /**
+     * 两个时间相差的天数（按 24 小时计，向 0 取整），同 DateUtil.getDaysGapOfDates
+     *
+     * @param startMillis
+     * @param endMillis
+     * @return
+     */
+    public static int daysBetween(long startMillis, long endMillis) {
+        return (int) ((endMillis - startMillis) / CalendarMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 星期几，1 为周一，7 为周日
+     *
+     * @param epochDay
+     * @return
+     */
+    public static int dayOfWeek(int epochDay) {
+        // 1970-01-01 为周四
+        return Math.floorMod(epochDay + 3, DateUtil.WEEK_DAYS) + 1;
+    }
+
+    /**
+     * 所在周（周一为一周第一天）的周一
+     *
+     * @param epochDay
+     * @return
+     */
+    public static int mondayOf(int epochDay) {
+        return epochDay - dayOfWeek(epochDay) + 1;
+    }
+
+    /**
+     * 所在月的第一天
+     *
+     * @param epochDay
+     * @return
+     */
+    public static int firstDayOfMonth(int epochDay) {
+        return epochDay - CalendarMath.packedDay(CalendarMath.civilFromDays(epochDay)) + 1;
+    }
+}
@@ -0,0 +1,305 @@
+package dateutil.demo.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 定长日期格式的无分配格式化
+ * 对 DateUtil 中的pattern常量，把日期直接写入调用方提供的 StringBuilder、char[]、byte[] 或 ByteBuffer，
+ * 返回写入的字符数，稳定运行时不产生任何对象。
+ * 超出 1600-9999 年的日期按 FastDateFormat 的结果拷贝，保持与通用格式化一致
+ *
+ * @author hanmeng
+ */
+public final class FixedDateFormatter {
+
+    private static final int MIN_YEAR = 1600;
+    private static final int MAX_YEAR = 9999;
+
+    private static final byte LITERAL = 0;
+    private static final byte YEAR = 1;
+    private static final byte MONTH = 2;
+    private static final byte DAY = 3;
+    private static final byte HOUR = 4;
+    private static final byte MINUTE = 5;
+    private static final byte SECOND = 6;
+
+    private static final Layout FULL = new Layout(DateUtil.DATE_FORMAT_FULL);
+    private static final Layout YMD = new Layout(DateUtil.DATE_FORMAT_YMD);
+    private static final Layout YM = new Layout(DateUtil.DATE_FORMAT_YM);
+    private static final Layout Y = new Layout(DateUtil.DATE_FORMAT_Y);
+    private static final Layout HMS = new Layout(DateUtil.DATE_FORMAT_HMS);
+    private static final Layout HM = new Layout(DateUtil.DATE_FORMAT_HM);
+    private static final Layout YMDHM = new Layout(DateUtil.DATE_FORMAT_YMDHM);
+    private static final Layout YMDHMS = new Layout(DateUtil.DATE_FORMAT_YMDHMS);
+    private static final Layout COMPACT_YMD = new Layout(DateUtil.DATE_TIME_yyyyMMdd);
+    private static final Layout COMPACT_YM = new Layout(DateUtil.DATE_TIME_yyyyMM);
+
+    private FixedDateFormatter() {
+    }
+
+    /**
+     * 是否支持该pattern
+     *
+     * @param pattern
+     * @return
+     */
+    public static boolean supports(String pattern) {
+        return layout(pattern) != null;
+    }
+
+    /**
+     * 该pattern格式化后的固定长度
+     *
+     * @param pattern
+     * @return
+     */
+    public static int length(String pattern) {
+        return requireLayout(pattern).pattern.length();
+    }
+
+    /**
+     * 格式化为字符串
+     *
+     * @param millis
+     * @param pattern
+     * @return
+     */
+    public static String format(long millis, String pattern) {
+        Layout layout = requireLayout(pattern);
+        char[] buf = new char[layout.pattern.length()];
+        format(millis, pattern, buf, 0);
+        return new String(buf);
+    }
+
+    /**
+     * 追加到 StringBuilder 末尾
+     *
+     * @param millis
+     * @param pattern
+     * @param sb
+     * @return 写入的字符数
+     */
+    public static int format(long millis, String pattern, StringBuilder sb) {
+        Layout layout = requireLayout(pattern);
+        long local = ZoneOffsetCache.getDefault().toLocal(millis);
+        long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+        int ymd = CalendarMath.civilFromDays(epochDay);
+        if (!inRange(ymd)) {
+            String text = DateFormatRegistry.get(pattern).format(millis);
+            sb.append(text);
+            return text.length();
+        }
+        int millisOfDay = (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY);
+        int n = layout.pattern.length();
+        for (int i = 0; i < n; i++) {
+            sb.append(charAt(layout, i, ymd, millisOfDay));
+        }
+        return n;
+    }
+
+    /**
+     * 写入 char[] 的 offset 位置
+     *
+     * @param millis
+     * @param pattern
+     * @param buf
+     * @param offset
+     * @return 写入的字符数
+     */
+    public static int format(long millis, String pattern, char[] buf, int offset) {
+        Layout layout = requireLayout(pattern);
+        long local = ZoneOffsetCache.getDefault().toLocal(millis);
+        long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+        int ymd = CalendarMath.civilFromDays(epochDay);
+        if (!inRange(ymd)) {
+            String text = DateFormatRegistry.get(pattern).format(millis);
+            text.getChars(0, text.length(), buf, offset);
+            return text.length();
+        }
+        int millisOfDay = (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY);
+        int n = layout.pattern.length();
+        for (int i = 0; i < n; i++) {
+            buf[offset + i] = charAt(layout, i, ymd, millisOfDay);
+        }
+        return n;
+    }
+
+    /**
+     * 以 ASCII 写入 byte[] 的 offset 位置
+     *
+     * @param millis
+     * @param pattern
+     * @param buf
+     * @param offset
+     * @return 写入的字节数
+     */
+    public static int format(long millis, String pattern, byte[] buf, int offset) {
+        Layout layout = requireLayout(pattern);
+        long local = ZoneOffsetCache.getDefault().toLocal(millis);
+        long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+        int ymd = CalendarMath.civilFromDays(epochDay);
+        if (!inRange(ymd)) {
+            String text = DateFormatRegistry.get(pattern).format(millis);
+            for (int i = 0; i < text.length(); i++) {
+                buf[offset + i] = (byte) text.charAt(i);
+            }
+            return text.length();
+        }
+        int millisOfDay = (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY);
+        int n = layout.pattern.length();
+        for (int i = 0; i < n; i++) {
+            buf[offset + i] = (byte) charAt(layout, i, ymd, millisOfDay);
+        }
+        return n;
+    }
+
+    /**
+     * 以 ASCII 写入 ByteBuffer 的 offset 绝对位置，不改变 position
+     *
+     * @param millis
+     * @param pattern
+     * @param buf
+     * @param offset
+     * @return 写入的字节数
+     */
+    public static int format(long millis, String pattern, ByteBuffer buf, int offset) {
+        Layout layout = requireLayout(pattern);
+        long local = ZoneOffsetCache.getDefault().toLocal(millis);
+        long epochDay = Math.floorDiv(local, CalendarMath.MILLIS_PER_DAY);
+        int ymd = CalendarMath.civilFromDays(epochDay);
+        if (!inRange(ymd)) {
+            String text = DateFormatRegistry.get(pattern).format(millis);
+            for (int i = 0; i < text.length(); i++) {
+                buf.put(offset + i, (byte) text.charAt(i));
+            }
+            return text.length();
+        }
+        int millisOfDay = (int) (local - epochDay * CalendarMath.MILLIS_PER_DAY);
+        int n = layout.pattern.length();
+        for (int i = 0; i < n; i++) {
+            buf.put(offset + i, (byte) charAt(layout, i, ymd, millisOfDay));
+        }
+        return n;
+    }
+
+    private static boolean inRange(int ymd) {
+        int year = CalendarMath.packedYear(ymd);
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    private static char charAt(Layout layout, int i, int ymd, int millisOfDay) {
+        int value;
+        switch (layout.fields[i]) {
+            case YEAR:
+                value = CalendarMath.packedYear(ymd);
+                break;
+            case MONTH:
+                value = CalendarMath.packedMonth(ymd);
+                break;
+            case DAY:
+                value = CalendarMath.packedDay(ymd);
+                break;
+            case HOUR:
+                value = (int) (millisOfDay / CalendarMath.MILLIS_PER_HOUR);
+                break;
+            case MINUTE:
+                value = (int) (millisOfDay / CalendarMath.MILLIS_PER_MINUTE % 60);
+                break;
+            case SECOND:
+                value = (int) (millisOfDay / CalendarMath.MILLIS_PER_SECOND % 60);
+                break;
+            default:
+                return layout.pattern.charAt(i);
+        }
+        return (char) ('0' + value / layout.divisors[i] % 10);
+    }
+
+    private static Layout requireLayout(String pattern) {
+        Layout layout = layout(pattern);
+        if (layout == null) {
+            throw new IllegalArgumentException("unsupported fixed date pattern: " + pattern);
+        }
+        return layout;
+    }
+
+    private static Layout layout(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        switch (pattern) {
+            case DateUtil.DATE_FORMAT_FULL:
+                return FULL;
+            case DateUtil.DATE_FORMAT_YMD:
+                return YMD;
+            case DateUtil.DATE_FORMAT_YM:
+                return YM;
+            case DateUtil.DATE_FORMAT_Y:
+                return Y;
+            case DateUtil.DATE_FORMAT_HMS:
+                return HMS;
+            case DateUtil.DATE_FORMAT_HM:
+                return HM;
+            case DateUtil.DATE_FORMAT_YMDHM:
+                return YMDHM;
+            case DateUtil.DATE_FORMAT_YMDHMS:
+                return YMDHMS;
+            case DateUtil.DATE_TIME_yyyyMMdd:
+                return COMPACT_YMD;
+            case DateUtil.DATE_TIME_yyyyMM:
+                return COMPACT_YM;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * pattern 逐字符展开后的字段及位权
+     */
+    private static final class Layout {
+        private final String pattern;
+        private final byte[] fields;
+        private final int[] divisors;
+
+        private Layout(String pattern) {
+            this.pattern = pattern;
+            int n = pattern.length();
+            this.fields = new byte[n];
+            this.divisors = new int[n];
+            int i = 0;
+            while (i < n) {
+                char c = pattern.charAt(i);
+                int end = i;
+                while (end < n && pattern.charAt(end) == c) {
+                    end++;
+                }
+                byte field = field(c);
+                int divisor = 1;
+                for (int k = end - 1; k >= i; k--) {
+                    fields[k] = field;
+                    divisors[k] = divisor;
+                    divisor *= 10;
+                }
+                i = end;
+            }
+        }
+
+        private static byte field(char c) {
+            switch (c) {
+                case 'y':
+                    return YEAR;
+                case 'M':
+                    return MONTH;
+                case 'd':
+                    return DAY;
+                case 'H':
+                    return HOUR;
+                case 'm':
+                    return MINUTE;
+                case 's':
+                    return SECOND;
+                default:
+                    return LITERAL;
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package dateutil.demo.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 定长日期格式的快速解析
+ * 针对 DateUtil 中 DATE_FORMAT_YMD、DATE_TIME_yyyyMMdd、DATE_FORMAT_YMDHMS、DATE_FORMAT_FULL、DATE_FORMAT_YMDHM
+ * 几种固定布局以及 ISO-8601（DATE_FORMAT_ISO8601），直接按字符做校验和换算得到 epoch 毫秒，不使用正则、Calendar，也不产生中间对象。
+ * 输入可以是 CharSequence，也可以是 byte[] / ByteBuffer 中的一段 ASCII，省去先解码成 String 的开销。
+ * 只接受严格符合布局的输入（位数、分隔符、取值范围都正确），其余情况返回 {@link #INVALID}，
+ * 由调用方退回到通用的 pattern 解析（宽松模式）处理
+ *
+ * @author hanmeng
+ */
+public final class FixedDateParser {
+
+    /**
+     * 解析失败（或不是严格格式）时的返回值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int MIN_YEAR = 1600;
+    private static final int MAX_TEXT_LENGTH = 64;
+
+    /**
+     * 非堆 ByteBuffer、CharSequence 解析 ISO-8601 时的暂存区
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[MAX_TEXT_LENGTH]);
+
+    private FixedDateParser() {
+    }
+
+    /**
+     * 是否支持快速解析该pattern
+     *
+     * @param pattern
+     * @return
+     */
+    public static boolean supports(String pattern) {
+        if (pattern == null) {
+            return false;
+        }
+        switch (pattern) {
+            case DateUtil.DATE_FORMAT_YMD:
+            case DateUtil.DATE_TIME_yyyyMMdd:
+            case DateUtil.DATE_FORMAT_YMDHMS:
+            case DateUtil.DATE_FORMAT_FULL:
+            case DateUtil.DATE_FORMAT_YMDHM:
+            case DateUtil.DATE_FORMAT_ISO8601:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 按pattern解析，pattern不支持或文本不是严格格式时返回 {@link #INVALID}
+     *
+     * @param text
+     * @param pattern
+     * @return epoch 毫秒
+     */
+    public static long parse(CharSequence text, String pattern) {
+        if (text == null || pattern == null) {
+            return INVALID;
+        }
+        switch (pattern) {
+            case DateUtil.DATE_FORMAT_YMD:
+                return parseYmd(text);
+            case DateUtil.DATE_TIME_yyyyMMdd:
+                return parseCompactYmd(text);
+            case DateUtil.DATE_FORMAT_YMDHMS:
+                return parseCompactYmdHms(text);
+            case DateUtil.DATE_FORMAT_FULL:
+                return parseFull(text);
+            case DateUtil.DATE_FORMAT_YMDHM:
+                return parseYmdHm(text);
+            case DateUtil.DATE_FORMAT_ISO8601:
+                return parseIsoPattern(text);
+            default:
+                return INVALID;
+        }
+    }
+
+    /**
+     * yyyy-MM-dd
+     *
+     * @param s
+     * @return
+     */
+    public static long parseYmd(CharSequence s) {
+        if (s == null || s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return INVALID;
+        }
+        return toMillis(digits4(s, 0), digits2(s, 5), digits2(s, 8), 0, 0, 0);
+    }
+
+    /**
+     * yyyyMMdd
+     *
+     * @param s
+     * @return
+     */
+    public static long parseCompactYmd(CharSequence s) {
+        if (s == null || s.length() != 8) {
+            return INVALID;
+        }
+        return toMillis(digits4(s, 0), digits2(s, 4), digits2(s, 6), 0, 0, 0);
+    }
+
+    /**
+     * yyyyMMddHHmmss
+     *
+     * @param s
+     * @return
+     */
+    public static long parseCompactYmdHms(CharSequence s) {
+        if (s == null || s.length() != 14) {
+            return INVALID;
+        }
+        return toMillis(digits4(s, 0), digits2(s, 4), digits2(s, 6),
+                digits2(s, 8), digits2(s, 10), digits2(s, 12));
+    }
+
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     *
+     * @param s
+     * @return
+     */
+    public static long parseFull(CharSequence s) {
+        if (s == null || s.length() != 19 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' '
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return INVALID;
+        }
+        return toMillis(digits4(s, 0), digits2(s, 5), digits2(s, 8),
+                digits2(s, 11), digits2(s, 14), digits2(s, 17));
+    }
+
+    /**
+     * yyyy-MM-dd HH:mm
+     *
+     * @param s
+     * @return
+     */
+    public static long parseYmdHm(CharSequence s) {
+        if (s == null || s.length() != 16 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' '
+                || s.charAt(13) != ':') {
+            return INVALID;
+        }
+        return toMillis(digits4(s, 0), digits2(s, 5), digits2(s, 8),
+                digits2(s, 11), digits2(s, 14), 0);
+    }
+
+    /**
+     * 从 ASCII 字节数组的 [offset, offset + length) 按pattern解析，规则同 {@link #parse(CharSequence, String)}
+     *
+     * @param b
+     * @param offset
+     * @param length
+     * @param pattern
+     * @return epoch 毫秒
+     */
+    public static long parse(byte[] b, int offset, int length, String pattern) {
+        if (b == null || pattern == null || !inBounds(b.length, offset, length)) {
+            return INVALID;
+        }
+        int i = offset;
+        switch (pattern) {
+            case DateUtil.DATE_FORMAT_YMD:
+                if (length != 10 || b[i + 4] != '-' || b[i + 7] != '-') {
+                    return INVALID;
+                }
+                return toMillis(digits4(b, i), digits2(b, i + 5), digits2(b, i + 8), 0, 0, 0);
+            case DateUtil.DATE_TIME_yyyyMMdd:
+                if (length != 8) {
+                    return INVALID;
+                }
+                return toMillis(digits4(b, i), digits2(b, i + 4), digits2(b, i + 6), 0, 0, 0);
+            case DateUtil.DATE_FORMAT_YMDHMS:
+                if (length != 14) {
+                    return INVALID;
+                }
+                return toMillis(digits4(b, i), digits2(b, i + 4), digits2(b, i + 6),
+                        digits2(b, i + 8), digits2(b, i + 10), digits2(b, i + 12));
+            case DateUtil.DATE_FORMAT_FULL:
+                if (length != 19 || b[i + 4] != '-' || b[i + 7] != '-' || b[i + 10] != ' '
+                        || b[i + 13] != ':' || b[i + 16] != ':') {
+                    return INVALID;
+                }
+                return toMillis(digits4(b, i), digits2(b, i + 5), digits2(b, i + 8),
+                        digits2(b, i + 11), digits2(b, i + 14), digits2(b, i + 17));
+            case DateUtil.DATE_FORMAT_YMDHM:
+                if (length != 16 || b[i + 4] != '-' || b[i + 7] != '-' || b[i + 10] != ' ' || b[i + 13] != ':') {
+                    return INVALID;
+                }
+                return toMillis(digits4(b, i), digits2(b, i + 5), digits2(b, i + 8),
+                        digits2(b, i + 11), digits2(b, i + 14), 0);
+            case DateUtil.DATE_FORMAT_ISO8601:
+                return parseIsoPattern(b, offset, length);
+            default:
+                return INVALID;
+        }
+    }
+
+    /**
+     * 从 ByteBuffer 的 [offset, offset + length) 绝对位置按pattern解析，不改变 position
+     *
+     * @param buf
+     * @param offset
+     * @param length
+     * @param pattern
+     * @return epoch 毫秒
+     */
+    public static long parse(ByteBuffer buf, int offset, int length, String pattern) {
+        if (buf == null || !inBounds(buf.limit(), offset, length)) {
+            return INVALID;
+        }
+        if (buf.hasArray()) {
+            return parse(buf.array(), buf.arrayOffset() + offset, length, pattern);
+        }
+        if (length > MAX_TEXT_LENGTH) {
+            return INVALID;
+        }
+        byte[] scratch = SCRATCH.get();
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buf.get(offset + i);
+        }
+        return parse(scratch, 0, length, pattern);
+    }
+
+    /**
+     * ISO-8601：yyyy-MM-dd'T'HH:mm:ss[.S{1,9}](Z|±HH|±HHmm|±HH:mm)
+     * 秒的小数部分超过 3 位时截断到毫秒，带时区偏移，结果与默认时区无关
+     *
+     * @param s
+     * @return epoch 毫秒
+     */
+    public static long parseIso8601(CharSequence s) {
+        byte[] scratch = ascii(s);
+        return scratch == null ? INVALID : parseIso8601(scratch, 0, s.length());
+    }
+
+    /**
+     * 复制到线程内的暂存区，为 null、过长或含非 ASCII 字符时返回 null
+     */
+    private static byte[] ascii(CharSequence s) {
+        if (s == null || s.length() > MAX_TEXT_LENGTH) {
+            return null;
+        }
+        byte[] scratch = SCRATCH.get();
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c > 127) {
+                return null;
+            }
+            scratch[i] = (byte) c;
+        }
+        return scratch;
+    }
+
+    /**
+     * [offset, offset + length) 是否在长度为 capacity 的数组内
+     *
+     * @param capacity
+     * @param offset
+     * @param length
+     * @return
+     */
+    static boolean inBounds(int capacity, int offset, int length) {
+        return offset >= 0 && length >= 0 && offset <= capacity - length;
+    }
+
+    /**
+     * 按 DATE_FORMAT_ISO8601（yyyy-MM-dd'T'HH:mm:ss.SSSXXX）解析，只接受 3 位毫秒和 Z / ±HH:mm 偏移，
+     * 与 FastDateFormat 对该 pattern 的解析结果一致；其他写法（如无毫秒、±HHmm）返回 INVALID，由调用方回退
+     */
+    private static long parseIsoPattern(CharSequence s) {
+        byte[] scratch = ascii(s);
+        return scratch == null ? INVALID : parseIsoPattern(scratch, 0, s.length());
+    }
+
+    private static long parseIsoPattern(byte[] b, int offset, int length) {
+        int i = offset;
+        if (length != 24 && length != 29) {
+            return INVALID;
+        }
+        if (b[i + 19] != '.' || !isDigit(b[i + 20]) || !isDigit(b[i + 21]) || !isDigit(b[i + 22])) {
+            return INVALID;
+        }
+        if (length == 24) {
+            if (b[i + 23] != 'Z') {
+                return INVALID;
+            }
+        } else if ((b[i + 23] != '+' && b[i + 23] != '-') || b[i + 26] != ':') {
+            return INVALID;
+        }
+        return parseIso8601(b, offset, length);
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 从 ASCII 字节数组的 [offset, offset + length) 解析 ISO-8601，格式见 {@link #parseIso8601(CharSequence)}
+     *
+     * @param b
+     * @param offset
+     * @param length
+     * @return epoch 毫秒
+     */
+    public static long parseIso8601(byte[] b, int offset, int length) {
+        int i = offset;
+        if (b == null || !inBounds(b.length, offset, length) || length < 20 || b[i + 4] != '-' || b[i + 7] != '-' || b[i + 10] != 'T'
+                || b[i + 13] != ':' || b[i + 16] != ':') {
+            return INVALID;
+        }
+        long local = localMillis(digits4(b, i), digits2(b, i + 5), digits2(b, i + 8),
+                digits2(b, i + 11), digits2(b, i + 14), digits2(b, i + 17));
+        if (local == INVALID) {
+            return INVALID;
+        }
+        int end = offset + length;
+        i += 19;
+        if (b[i] == '.') {
+            i++;
+            int digits = 0;
+            int scale = 100;
+            while (i < end && b[i] >= '0' && b[i] <= '9') {
+                if (digits < 3) {
+                    local += (b[i] - '0') * scale;
+                    scale /= 10;
+                }
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 9) {
+                return INVALID;
+            }
+        }
+        if (i >= end) {
+            return INVALID;
+        }
+        if (b[i] == 'Z') {
+            return i + 1 == end ? local : INVALID;
+        }
+        if (b[i] != '+' && b[i] != '-') {
+            return INVALID;
+        }
+        int rest = end - i - 1;
+        int hours = rest >= 2 ? digits2(b, i + 1) : -1;
+        int minutes;
+        if (rest == 2) {
+            minutes = 0;
+        } else if (rest == 4) {
+            minutes = digits2(b, i + 3);
+        } else if (rest == 5 && b[i + 3] == ':') {
+            minutes = digits2(b, i + 4);
+        } else {
+            return INVALID;
+        }
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+            return INVALID;
+        }
+        long offsetMillis = hours * CalendarMath.MILLIS_PER_HOUR + minutes * CalendarMath.MILLIS_PER_MINUTE;
+        return b[i] == '+' ? local - offsetMillis : local + offsetMillis;
+    }
+
+    private static long toMillis(int year, int month, int day, int hour, int minute, int second) {
+        long local = localMillis(year, month, day, hour, minute, second);
+        return local == INVALID ? INVALID : ZoneOffsetCache.getDefault().toUtc(local);
+    }
+
+    /**
+     * 本地时间（按 UTC 计的毫秒），字段不合法时返回 INVALID
+     */
+    private static long localMillis(int year, int month, int day, int hour, int minute, int second) {
+        // 任一字段不是数字时为负数
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > CalendarMath.lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        return CalendarMath.daysFromCivil(year, month, day) * CalendarMath.MILLIS_PER_DAY
+                + hour * CalendarMath.MILLIS_PER_HOUR + minute * CalendarMath.MILLIS_PER_MINUTE
+                + second * CalendarMath.MILLIS_PER_SECOND;
+    }
+
+    private static int digits2(CharSequence s, int i) {
+        int d1 = s.charAt(i) - '0';
+        int d2 = s.charAt(i + 1) - '0';
+        if ((d1 | d2) < 0 || d1 > 9 || d2 > 9) {
+            return -1;
+        }
+        return d1 * 10 + d2;
+    }
+
+    private static int digits4(CharSequence s, int i) {
+        int hi = digits2(s, i);
+        int lo = digits2(s, i + 2);
+        if ((hi | lo) < 0) {
+            return -1;
+        }
+        return hi * 100 + lo;
+    }
+
+    private static int digits2(byte[] b, int i) {
+        int d1 = b[i] - '0';
+        int d2 = b[i + 1] - '0';
+        if ((d1 | d2) < 0 || d1 > 9 || d2 > 9) {
+            return -1;
+        }
+        return d1 * 10 + d2;
+    }
+
+    private static int digits4(byte[] b, int i) {
+        int hi = digits2(b, i);
+        int lo = digits2(b, i + 2);
+        if ((hi | lo) < 0) {
+            return -1;
+        }
+        return hi * 100 + lo;
+    }
+}
@@ -0,0 +1,347 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.common.DateRange;
+import dateutil.demo.common.TimeInterval;
+
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * 不可变的区间索引，回答“哪些区间包含时刻 t / 与 [from, to] 重叠”
+ * 区间按开始时间排序后存放在三个 long/int 数组里，在排序数组上隐式地构造一棵增强区间树
+ * （第 k 层节点的下标低 k 位为 1，每个节点额外记录子树内最大的结束时间），不创建节点对象。
+ * 查询为 O(log n + 命中数)，计数和写入调用方数组的查询不分配内存。
+ * 区间两端都包含，与 DateRange / TimeInterval 一致；命中结果为区间在构建输入中的下标。
+ * 构建后只读，可被多个线程共享；需要重建时配合 {@link Holder} 整体替换
+ *
+ * @author hanmeng
+ */
+public final class IntervalIndex {
+
+    /**
+     * 子树不超过 2^(SCAN_LEVEL+1) 个区间时直接线性扫描
+     */
+    private static final int SCAN_LEVEL = 3;
+
+    private static final IntervalIndex EMPTY = new IntervalIndex(new long[0], new long[0], new int[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] ids;
+    private final long[] maxEnds;
+    private final int maxLevel;
+
+    private IntervalIndex(long[] starts, long[] ends, int[] ids) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.maxEnds = new long[starts.length];
+        this.maxLevel = starts.length == 0 ? -1 : buildMaxEnds();
+    }
+
+    /**
+     * 由两个等长数组批量构建，第 i 个区间为 [starts[i], ends[i]]，数组不会被修改
+     *
+     * @param starts
+     * @param ends
+     * @return
+     */
+    public static IntervalIndex build(long[] starts, long[] ends) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("starts and ends differ in length: " + starts.length + " != " + ends.length);
+        }
+        int n = starts.length;
+        if (n == 0) {
+            return EMPTY;
+        }
+        long[] s = starts.clone();
+        long[] e = ends.clone();
+        int[] id = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (e[i] < s[i]) {
+                throw new IllegalArgumentException("end before start at " + i);
+            }
+            id[i] = i;
+        }
+        sort(s, e, id, 0, n - 1);
+        return new IntervalIndex(s, e, id);
+    }
+
+    /**
+     * 由 DateRange 构建，命中结果为其在集合迭代顺序中的下标
+     *
+     * @param ranges
+     * @return
+     */
+    public static IntervalIndex ofDateRanges(Collection<DateRange> ranges) {
+        long[] starts = new long[ranges.size()];
+        long[] ends = new long[ranges.size()];
+        int i = 0;
+        for (DateRange range : ranges) {
+            starts[i] = range.getStart().getTime();
+            ends[i++] = range.getEnd().getTime();
+        }
+        return build(starts, ends);
+    }
+
+    /**
+     * 由 TimeInterval 构建，命中结果为其在集合迭代顺序中的下标
+     *
+     * @param intervals
+     * @return
+     */
+    public static IntervalIndex ofIntervals(Collection<TimeInterval> intervals) {
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        int i = 0;
+        for (TimeInterval interval : intervals) {
+            starts[i] = interval.getStart();
+            ends[i++] = interval.getEnd();
+        }
+        return build(starts, ends);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * 包含 t 的区间数
+     *
+     * @param t
+     * @return
+     */
+    public int countContaining(long t) {
+        return countOverlapping(t, t);
+    }
+
+    /**
+     * 是否有区间包含 t，找到第一个即返回
+     *
+     * @param t
+     * @return
+     */
+    public boolean anyContaining(long t) {
+        return maxLevel >= 0 && search(rootIndex(), maxLevel, t, t, null, null, 0, 1) > 0;
+    }
+
+    /**
+     * 与 [from, to] 重叠的区间数
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public int countOverlapping(long from, long to) {
+        if (maxLevel < 0 || to < from) {
+            return 0;
+        }
+        return search(rootIndex(), maxLevel, from, to, null, null, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 把包含 t 的区间下标写入 out，最多写 out.length 个
+     *
+     * @param t
+     * @param out
+     * @return 写入的个数
+     */
+    public int containing(long t, int[] out) {
+        return overlapping(t, t, out);
+    }
+
+    /**
+     * 把与 [from, to] 重叠的区间下标写入 out，最多写 out.length 个
+     *
+     * @param from
+     * @param to
+     * @param out
+     * @return 写入的个数
+     */
+    public int overlapping(long from, long to, int[] out) {
+        if (maxLevel < 0 || to < from || out.length == 0) {
+            return 0;
+        }
+        return search(rootIndex(), maxLevel, from, to, out, null, 0, out.length);
+    }
+
+    /**
+     * 依次回调与 [from, to] 重叠的区间下标（不保证顺序）
+     *
+     * @param from
+     * @param to
+     * @param consumer
+     */
+    public void forEachOverlapping(long from, long to, IntConsumer consumer) {
+        if (maxLevel >= 0 && to >= from) {
+            search(rootIndex(), maxLevel, from, to, null, consumer, 0, Integer.MAX_VALUE);
+        }
+    }
+
+    private int rootIndex() {
+        return (1 << maxLevel) - 1;
+    }
+
+    /**
+     * 在以 x 为根、层级为 level 的子树中查找与 [from, to] 重叠的区间
+     *
+     * @return 累计命中数，达到 limit 时提前结束
+     */
+    private int search(int x, int level, long from, long to, int[] out, IntConsumer consumer, int count, int limit) {
+        int n = starts.length;
+        if (level <= SCAN_LEVEL) {
+            int i0 = x >> level << level;
+            int i1 = Math.min(n, i0 + (1 << (level + 1)) - 1);
+            for (int i = i0; i < i1 && starts[i] <= to && count < limit; i++) {
+                if (ends[i] >= from) {
+                    count = hit(i, out, consumer, count);
+                }
+            }
+            return count;
+        }
+        int half = 1 << (level - 1);
+        int left = x - half;
+        // 左子树的最大结束时间早于 from 时整棵子树都不可能重叠
+        if (left >= n || maxEnds[left] >= from) {
+            count = search(left, level - 1, from, to, out, consumer, count, limit);
+        }
+        // 右子树的开始时间都不早于 starts[x]
+        if (count < limit && x < n && starts[x] <= to) {
+            if (ends[x] >= from) {
+                count = hit(x, out, consumer, count);
+            }
+            if (count < limit) {
+                count = search(x + half, level - 1, from, to, out, consumer, count, limit);
+            }
+        }
+        return count;
+    }
+
+    private int hit(int i, int[] out, IntConsumer consumer, int count) {
+        if (out != null) {
+            out[count] = ids[i];
+        }
+        if (consumer != null) {
+            consumer.accept(ids[i]);
+        }
+        return count + 1;
+    }
+
+    /**
+     * 自底向上计算每个节点子树内的最大结束时间，返回树的最高层级
+     */
+    private int buildMaxEnds() {
+        int n = starts.length;
+        int lastIndex = 0;
+        long last = 0;
+        for (int i = 0; i < n; i += 2) {
+            lastIndex = i;
+            maxEnds[i] = ends[i];
+            last = ends[i];
+        }
+        int level = 1;
+        for (; 1 << level <= n; level++) {
+            int x = 1 << (level - 1);
+            int step = x << 2;
+            for (int i = (x << 1) - 1; i < n; i += step) {
+                long leftMax = maxEnds[i - x];
+                long rightMax = i + x < n ? maxEnds[i + x] : last;
+                maxEnds[i] = Math.max(ends[i], Math.max(leftMax, rightMax));
+            }
+            lastIndex = (lastIndex >> level & 1) != 0 ? lastIndex - x : lastIndex + x;
+            if (lastIndex < n && maxEnds[lastIndex] > last) {
+                last = maxEnds[lastIndex];
+            }
+        }
+        return level - 1;
+    }
+
+    /**
+     * 按开始时间对三个并行数组原地快速排序
+     */
+    private static void sort(long[] s, long[] e, int[] id, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            if (s[mid] < s[lo]) {
+                swap(s, e, id, mid, lo);
+            }
+            if (s[hi] < s[lo]) {
+                swap(s, e, id, hi, lo);
+            }
+            if (s[hi] < s[mid]) {
+                swap(s, e, id, hi, mid);
+            }
+            long pivot = s[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (s[i] < pivot) {
+                    i++;
+                }
+                while (s[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(s, e, id, i++, j--);
+                }
+            }
+            // 先递归较小的一半，控制栈深度
+            if (j - lo < hi - i) {
+                sort(s, e, id, lo, j);
+                lo = i;
+            } else {
+                sort(s, e, id, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && s[j] < s[j - 1]; j--) {
+                swap(s, e, id, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(long[] s, long[] e, int[] id, int i, int j) {
+        long ts = s[i];
+        s[i] = s[j];
+        s[j] = ts;
+        long te = e[i];
+        e[i] = e[j];
+        e[j] = te;
+        int tid = id[i];
+        id[i] = id[j];
+        id[j] = tid;
+    }
+
+    /**
+     * 索引快照的持有者：读线程每次请求取一次 {@link #get()}，后台重建完成后 {@link #swap(IntervalIndex)} 整体替换，
+     * 读写互不阻塞，正在进行的查询继续使用旧快照
+     */
+    public static final class Holder {
+        private volatile IntervalIndex current;
+
+        public Holder() {
+            this(EMPTY);
+        }
+
+        public Holder(IntervalIndex initial) {
+            this.current = initial;
+        }
+
+        public IntervalIndex get() {
+            return current;
+        }
+
+        /**
+         * 替换为新快照
+         *
+         * @param index
+         * @return 旧快照
+         */
+        public IntervalIndex swap(IntervalIndex index) {
+            IntervalIndex old = current;
+            current = index;
+            return old;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package dateutil.demo.utils;
+
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 可复用的解析结果，配合 {@link DateUtil#tryParse(String, String, ParseResult)} 使用，
+ * 同一线程内反复传入同一个实例即可避免每次解析产生对象
+ *
+ * @author hanmeng
+ */
+@Getter
+public class ParseResult {
+    /**
+     * 是否解析成功
+     */
+    private boolean success;
+    /**
+     * 解析得到的毫秒时间戳，失败时为 {@link DateUtil#PARSE_FAILED}
+     */
+    private long millis = DateUtil.PARSE_FAILED;
+
+    void set(long millis) {
+        this.millis = millis;
+        this.success = millis != DateUtil.PARSE_FAILED;
+    }
+
+    /**
+     * 转换为 Date，失败时返回 null
+     *
+     * @return
+     */
+    public Date toDate() {
+        return success ? new Date(millis) : null;
+    }
+}
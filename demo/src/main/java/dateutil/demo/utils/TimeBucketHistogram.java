@@ -0,0 +1,297 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.enums.TimeExtentEnum;
+import lombok.Getter;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发时间分桶计数器，供实时看板统计事件数
+ * 按本地日历单位（小时 / 天 / 周 / 月）分桶，窗口由时钟决定：当前时间所在的桶及之前共 windows 个桶，
+ * 另外容许下一个桶以兼容轻微的时钟偏差，更早或更晚的事件不计入任何桶，只累加到 dropped。
+ * 每个桶同时按事件时间距当前的远近（{@link TimeExtentEnum}）计数，“当前”同样取自时钟，阈值按秒缓存，
+ * 远近分布随桶一起滚出窗口。
+ * 计数器都是 LongAdder，写入无锁、互不竞争；时间前进到新的桶时用 CAS 把环上过期的桶整体替换掉。
+ * {@link #snapshot()} 不阻塞写线程，每个桶的计数是读取时刻的累加值
+ *
+ * @author hanmeng
+ */
+public final class TimeBucketHistogram {
+
+    /**
+     * 日历分桶单位
+     */
+    public enum Unit {
+        HOUR, DAY, WEEK, MONTH
+    }
+
+    private static final int EXTENT_COUNT = TimeExtentEnum.values().length;
+    /**
+     * 1970-01-05 是周一，周一的 epoch day 对 7 取余为 4
+     */
+    private static final int MONDAY_REMAINDER = 4;
+    /**
+     * 只计桶、不计远近分布
+     */
+    private static final int NO_EXTENT = -1;
+
+    private final Clock clock;
+    private final Unit unit;
+    private final int windows;
+    /**
+     * 比 windows 多一个槽位，留给下一个桶
+     */
+    private final AtomicReferenceArray<Bucket> ring;
+    private final LongAdder dropped = new LongAdder();
+    /**
+     * 按时钟当前秒构建的分类器，同一秒内复用
+     */
+    private volatile TimeExtentClassifier classifier;
+
+    /**
+     * @param unit    日历分桶单位
+     * @param windows 保留的桶数
+     */
+    public TimeBucketHistogram(Unit unit, int windows) {
+        this(unit, windows, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param unit    日历分桶单位
+     * @param windows 保留的桶数
+     * @param clock   决定窗口位置的时钟，只使用毫秒数
+     */
+    public TimeBucketHistogram(Unit unit, int windows, Clock clock) {
+        if (windows <= 0) {
+            throw new IllegalArgumentException("invalid windows: " + windows);
+        }
+        this.unit = unit;
+        this.windows = windows;
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(windows + 1);
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * 记录一个事件
+     *
+     * @param eventMillis 事件时间
+     */
+    public void record(long eventMillis) {
+        long now = clock.millis();
+        add(eventMillis, classifier(now).ordinal(eventMillis), now);
+    }
+
+    /**
+     * 只按日历单位记录，不计入远近分布
+     *
+     * @param eventMillis
+     */
+    public void recordBucket(long eventMillis) {
+        add(eventMillis, NO_EXTENT, clock.millis());
+    }
+
+    private TimeExtentClassifier classifier(long now) {
+        long second = Math.floorDiv(now, CalendarMath.MILLIS_PER_SECOND) * CalendarMath.MILLIS_PER_SECOND;
+        TimeExtentClassifier c = classifier;
+        if (c == null || c.getNow() != second) {
+            c = TimeExtentClassifier.at(second);
+            classifier = c;
+        }
+        return c;
+    }
+
+    private void add(long millis, int extent, long now) {
+        long index = index(millis);
+        long current = index(now);
+        if (index > current + 1 || index <= current - windows) {
+            dropped.increment();
+            return;
+        }
+        int slot = (int) Math.floorMod(index, (long) ring.length());
+        Bucket bucket;
+        while (true) {
+            bucket = ring.get(slot);
+            if (bucket != null && bucket.index == index) {
+                break;
+            }
+            if (bucket != null && bucket.index > index) {
+                // 其他线程已按更晚的时钟把这个槽位换给了新桶
+                dropped.increment();
+                return;
+            }
+            Bucket next = new Bucket(index, start(index));
+            if (ring.compareAndSet(slot, bucket, next)) {
+                bucket = next;
+                break;
+            }
+        }
+        bucket.add(extent, 1);
+        if (ring.get(slot) != bucket) {
+            // 计数期间桶被换出了环，快照不会再读到它，改记为 dropped
+            bucket.add(extent, -1);
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 时间所在日历桶的序号，相邻的桶序号相差 1
+     */
+    private long index(long millis) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        switch (unit) {
+            case HOUR:
+                return Math.floorDiv(zone.toLocal(millis), CalendarMath.MILLIS_PER_HOUR);
+            case DAY:
+                return zone.epochDay(millis);
+            case WEEK:
+                return Math.floorDiv(EpochDateUtil.mondayOf(zone.epochDay(millis)), DateUtil.WEEK_DAYS);
+            default:
+                int packed = CalendarMath.civilFromDays(zone.epochDay(millis));
+                return CalendarMath.packedYear(packed) * 12L + CalendarMath.packedMonth(packed) - 1;
+        }
+    }
+
+    /**
+     * 桶序号对应的开始时间
+     */
+    private long start(long index) {
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        switch (unit) {
+            case HOUR:
+                return zone.toUtc(index * CalendarMath.MILLIS_PER_HOUR);
+            case DAY:
+                return zone.startOfEpochDay((int) index);
+            case WEEK:
+                return zone.startOfEpochDay((int) (index * DateUtil.WEEK_DAYS + MONDAY_REMAINDER));
+            default:
+                int year = (int) Math.floorDiv(index, 12L);
+                int month = (int) Math.floorMod(index, 12L) + 1;
+                return zone.startOfEpochDay((int) CalendarMath.daysFromCivil(year, month, 1));
+        }
+    }
+
+    /**
+     * 当前各桶与远近分布的快照，桶按时间升序，只包含窗口内出现过事件的桶
+     *
+     * @return
+     */
+    public Snapshot snapshot() {
+        long current = index(clock.millis());
+        int n = ring.length();
+        Bucket[] buckets = new Bucket[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            Bucket bucket = ring.get(i);
+            // 时钟前进后还没被替换的旧桶不再属于窗口
+            if (bucket != null && bucket.index > current - windows && bucket.index <= current + 1) {
+                buckets[size++] = bucket;
+            }
+        }
+        Arrays.sort(buckets, 0, size, (a, b) -> Long.compare(a.index, b.index));
+        long[] starts = new long[size];
+        long[] counts = new long[size];
+        long[] extentCounts = new long[EXTENT_COUNT];
+        for (int i = 0; i < size; i++) {
+            starts[i] = buckets[i].start;
+            counts[i] = buckets[i].count.sum();
+            for (int e = 0; e < EXTENT_COUNT; e++) {
+                extentCounts[e] += buckets[i].extents[e].sum();
+            }
+        }
+        return new Snapshot(unit, starts, counts, extentCounts, dropped.sum());
+    }
+
+    /**
+     * 清空所有计数
+     */
+    public void reset() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        dropped.reset();
+    }
+
+    private static final class Bucket {
+        private final long index;
+        private final long start;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder[] extents = new LongAdder[EXTENT_COUNT];
+
+        private Bucket(long index, long start) {
+            this.index = index;
+            this.start = start;
+            for (int i = 0; i < EXTENT_COUNT; i++) {
+                extents[i] = new LongAdder();
+            }
+        }
+
+        private void add(int extent, long delta) {
+            count.add(delta);
+            if (extent != NO_EXTENT) {
+                extents[extent].add(delta);
+            }
+        }
+    }
+
+    /**
+     * 计数快照
+     */
+    @Getter
+    public static final class Snapshot {
+        private final Unit unit;
+        /**
+         * 各桶的开始时间，升序
+         */
+        private final long[] starts;
+        /**
+         * 与 starts 一一对应的事件数
+         */
+        private final long[] counts;
+        /**
+         * 按 TimeExtentEnum.ordinal() 排列的窗口内事件数
+         */
+        private final long[] extentCounts;
+        /**
+         * 过旧、超前于时钟或在计数时被换出而未计入任何桶的事件数
+         */
+        private final long dropped;
+
+        private Snapshot(Unit unit, long[] starts, long[] counts, long[] extentCounts, long dropped) {
+            this.unit = unit;
+            this.starts = starts;
+            this.counts = counts;
+            this.extentCounts = extentCounts;
+            this.dropped = dropped;
+        }
+
+        public long getExtentCount(TimeExtentEnum extent) {
+            return extentCounts[extent.ordinal()];
+        }
+
+        /**
+         * 某个时间所在桶的计数，不在快照中时为 0
+         *
+         * @param bucketStart 桶的开始时间
+         * @return
+         */
+        public long getCount(long bucketStart) {
+            int i = Arrays.binarySearch(starts, bucketStart);
+            return i >= 0 ? counts[i] : 0;
+        }
+
+        public long total() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.enums.TimeExtentEnum;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 时间范围分类器：把时间划分为 {@link TimeExtentEnum}
+ * 构造时以给定的“当前时间”一次算好近1小时、1天、1周、1个月、6个月、12个月六个阈值，
+ * 之后每次分类只做最多六次 long 比较，不创建 Date / Calendar。实例不可变，可跨线程共享。
+ * 与 getTimeExtent 的原有语义一致：时间严格晚于阈值才归入该档，null 归为一年以前
+ *
+ * @author hanmeng
+ */
+public final class TimeExtentClassifier {
+
+    private static final TimeExtentEnum[] VALUES = TimeExtentEnum.values();
+
+    private static volatile TimeExtentClassifier current;
+
+    private final long now;
+    private final long[] thresholds;
+
+    private TimeExtentClassifier(long now) {
+        this.now = now;
+        this.thresholds = new long[]{
+                EpochDateUtil.add(now, Calendar.HOUR, -1),
+                EpochDateUtil.add(now, Calendar.DATE, -1),
+                EpochDateUtil.add(now, Calendar.DATE, -7),
+                EpochDateUtil.add(now, Calendar.MONTH, -1),
+                EpochDateUtil.add(now, Calendar.MONTH, -6),
+                EpochDateUtil.add(now, Calendar.MONTH, -12)
+        };
+    }
+
+    /**
+     * 以指定时间为“当前时间”
+     *
+     * @param now
+     * @return
+     */
+    public static TimeExtentClassifier at(long now) {
+        return new TimeExtentClassifier(now);
+    }
+
+    /**
+     * 以当前秒为“当前时间”的共享实例，同一秒内的调用复用同一组阈值（阈值精度为秒）
+     *
+     * @return
+     */
+    public static TimeExtentClassifier current() {
+        long second = System.currentTimeMillis() / CalendarMath.MILLIS_PER_SECOND * CalendarMath.MILLIS_PER_SECOND;
+        TimeExtentClassifier classifier = current;
+        if (classifier == null || classifier.now != second) {
+            classifier = new TimeExtentClassifier(second);
+            current = classifier;
+        }
+        return classifier;
+    }
+
+    public long getNow() {
+        return now;
+    }
+
+    public TimeExtentEnum classify(long millis) {
+        return VALUES[ordinal(millis)];
+    }
+
+    public TimeExtentEnum classify(Date date) {
+        return date == null ? TimeExtentEnum.ONE_YEAR_AGO : classify(date.getTime());
+    }
+
+    /**
+     * @param millis
+     * @return 对应 TimeExtentEnum 的 ordinal
+     */
+    public int ordinal(long millis) {
+        long[] t = thresholds;
+        int i = 0;
+        while (i < t.length && millis <= t[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 批量分类，结果为 TimeExtentEnum 的 ordinal
+     *
+     * @param millis
+     * @param ordinals 长度不小于 millis.length
+     */
+    public void classifyAll(long[] millis, byte[] ordinals) {
+        checkLength(millis.length, ordinals.length);
+        for (int i = 0; i < millis.length; i++) {
+            ordinals[i] = (byte) ordinal(millis[i]);
+        }
+    }
+
+    /**
+     * 批量分类，null 归为一年以前
+     *
+     * @param dates
+     * @param ordinals 长度不小于 dates.size()
+     */
+    public void classifyAll(List<Date> dates, byte[] ordinals) {
+        checkLength(dates.size(), ordinals.length);
+        int i = 0;
+        for (Date date : dates) {
+            ordinals[i++] = (byte) (date == null ? TimeExtentEnum.ONE_YEAR_AGO.ordinal() : ordinal(date.getTime()));
+        }
+    }
+
+    /**
+     * ordinal 转回枚举，不会像 values() 那样每次复制数组
+     *
+     * @param ordinal
+     * @return
+     */
+    public static TimeExtentEnum valueOf(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    private static void checkLength(int input, int output) {
+        if (output < input) {
+            throw new IllegalArgumentException("output too short: " + output + " < " + input);
+        }
+    }
+}
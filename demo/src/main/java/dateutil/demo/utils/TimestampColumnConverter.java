@@ -0,0 +1,363 @@
+package dateutil.demo.utils;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 大文件中时间戳列的流式转换
+ * 对 CSV / TSV 等按单字节分隔、按行（\n 或 \r\n）组织的文件，把指定列在 epoch 秒/毫秒 与 DateUtil 定长 pattern 之间互转，
+ * 其余字节原样输出。输入按内存映射读取，按行边界切成若干块在 ForkJoinPool 上并行转换，按块顺序写入输出通道，
+ * 全程在字节层面处理，不为每行创建 String。
+ * 不处理引号内的分隔符；转换结果与原字段长度不同，因此只能写到新的输出，不支持原地改写。
+ * 无法转换的字段（格式不对、该行没有这一列）原样保留并计入失败数
+ *
+ * @author hanmeng
+ */
+public class TimestampColumnConverter {
+
+    /**
+     * 默认每块 16MB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    private static final int MAX_FIELD_LENGTH = 32;
+    /**
+     * 毫秒最多 18 位，不会溢出 long
+     */
+    private static final int MAX_MILLIS_DIGITS = 18;
+    /**
+     * 秒最多 15 位，乘以 1000 后不会溢出 long
+     */
+    private static final int MAX_SECONDS_DIGITS = 15;
+
+    private final byte delimiter;
+    private final int column;
+    private final String pattern;
+    private final Mode mode;
+    private final boolean header;
+    private final int chunkSize;
+
+    /**
+     * @param delimiter 列分隔符，如 ',' 或 '\t'
+     * @param column    列序号，从 0 开始
+     * @param pattern   DateUtil 中的定长 pattern，如 DATE_FORMAT_FULL
+     * @param mode      转换方向
+     * @param header    第一行是否为表头（原样输出）
+     */
+    public TimestampColumnConverter(byte delimiter, int column, String pattern, Mode mode, boolean header) {
+        this(delimiter, column, pattern, mode, header, DEFAULT_CHUNK_SIZE);
+    }
+
+    public TimestampColumnConverter(byte delimiter, int column, String pattern, Mode mode, boolean header, int chunkSize) {
+        if (column < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("invalid column or chunk size: " + column + ", " + chunkSize);
+        }
+        if (mode.toDate ? !FixedDateFormatter.supports(pattern) : !FixedDateParser.supports(pattern)) {
+            throw new IllegalArgumentException("unsupported fixed date pattern: " + pattern);
+        }
+        this.delimiter = delimiter;
+        this.column = column;
+        this.pattern = pattern;
+        this.mode = mode;
+        this.header = header;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 转换 input 写入 output 文件（覆盖）
+     *
+     * @param input
+     * @param output
+     * @return
+     * @throws IOException
+     */
+    public Result convert(Path input, Path output) throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return convert(input, out);
+        }
+    }
+
+    /**
+     * 转换 input 写入输出通道，行顺序与输入一致
+     *
+     * @param input
+     * @param output
+     * @return
+     * @throws IOException
+     */
+    public Result convert(Path input, WritableByteChannel output) throws IOException {
+        Result result = new Result();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // 同时在途的块数，限制内存占用
+        int window = pool.getParallelism() * 2;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+            long start = 0;
+            boolean first = true;
+            while (start < size || !pending.isEmpty()) {
+                while (start < size && pending.size() < window) {
+                    long end = lineBoundary(in, Math.min(size, start + chunkSize), size);
+                    long from = start;
+                    boolean skipFirstLine = first && header;
+                    pending.add(pool.submit(() -> convertChunk(in, from, end, skipFirstLine)));
+                    start = end;
+                    first = false;
+                }
+                Chunk chunk = await(pending.poll());
+                ByteBuffer buf = ByteBuffer.wrap(chunk.out, 0, chunk.length);
+                while (buf.hasRemaining()) {
+                    output.write(buf);
+                }
+                result.lines += chunk.lines;
+                result.converted += chunk.converted;
+                result.failed += chunk.failed;
+            }
+        }
+        return result;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while converting", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * pos 之后第一个换行符的下一个位置（pos 所在行的行尾）
+     */
+    private static long lineBoundary(FileChannel in, long pos, long size) throws IOException {
+        if (pos >= size) {
+            return size;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long p = pos - 1;
+        while (p < size) {
+            buf.clear();
+            int n = in.read(buf, p);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') {
+                    return p + i + 1;
+                }
+            }
+            p += n;
+        }
+        return size;
+    }
+
+    private Chunk convertChunk(FileChannel in, long from, long to, boolean skipFirstLine) {
+        MappedByteBuffer map;
+        try {
+            map = in.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Chunk chunk = new Chunk(map, (int) (to - from));
+        int n = (int) (to - from);
+        int lineStart = 0;
+        while (lineStart < n) {
+            int lineEnd = lineStart;
+            while (lineEnd < n && map.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && map.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int next = lineEnd < n ? lineEnd + 1 : n;
+            if (skipFirstLine) {
+                chunk.copy(lineStart, next - lineStart);
+                skipFirstLine = false;
+            } else {
+                chunk.lines++;
+                convertLine(map, chunk, lineStart, contentEnd, next);
+            }
+            lineStart = next;
+        }
+        return chunk;
+    }
+
+    private void convertLine(MappedByteBuffer map, Chunk chunk, int lineStart, int contentEnd, int next) {
+        int fieldStart = lineStart;
+        for (int c = 0; c < column && fieldStart <= contentEnd; c++) {
+            while (fieldStart < contentEnd && map.get(fieldStart) != delimiter) {
+                fieldStart++;
+            }
+            fieldStart++;
+        }
+        if (fieldStart > contentEnd) {
+            chunk.failed++;
+            chunk.copy(lineStart, next - lineStart);
+            return;
+        }
+        int fieldEnd = fieldStart;
+        while (fieldEnd < contentEnd && map.get(fieldEnd) != delimiter) {
+            fieldEnd++;
+        }
+        chunk.copy(lineStart, fieldStart - lineStart);
+        if (convertField(map, chunk, fieldStart, fieldEnd - fieldStart)) {
+            chunk.converted++;
+        } else {
+            chunk.failed++;
+            chunk.copy(fieldStart, fieldEnd - fieldStart);
+        }
+        chunk.copy(fieldEnd, next - fieldEnd);
+    }
+
+    private boolean convertField(MappedByteBuffer map, Chunk chunk, int start, int length) {
+        if (length == 0 || length > MAX_FIELD_LENGTH) {
+            return false;
+        }
+        byte[] field = chunk.field;
+        chunk.source.position(start);
+        chunk.source.get(field, 0, length);
+        if (mode.toDate) {
+            long value = parseLong(field, length, mode.millis ? MAX_MILLIS_DIGITS : MAX_SECONDS_DIGITS);
+            if (value == Long.MIN_VALUE) {
+                return false;
+            }
+            long millis = mode.millis ? value : value * CalendarMath.MILLIS_PER_SECOND;
+            chunk.ensure(MAX_FIELD_LENGTH);
+            chunk.length += FixedDateFormatter.format(millis, pattern, chunk.out, chunk.length);
+        } else {
+            long millis = FixedDateParser.parse(field, 0, length, pattern);
+            if (millis == FixedDateParser.INVALID) {
+                return false;
+            }
+            chunk.writeLong(mode.millis ? millis : Math.floorDiv(millis, CalendarMath.MILLIS_PER_SECOND));
+        }
+        return true;
+    }
+
+    /**
+     * 十进制整数，可带负号，超过 maxDigits 位或含非数字时返回 Long.MIN_VALUE
+     */
+    private static long parseLong(byte[] b, int length, int maxDigits) {
+        int i = b[0] == '-' ? 1 : 0;
+        if (i == length || length - i > maxDigits) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + d;
+        }
+        return b[0] == '-' ? -value : value;
+    }
+
+    /**
+     * 转换方向
+     */
+    public enum Mode {
+        /**
+         * epoch 秒 -> pattern
+         */
+        SECONDS_TO_DATE(true, false),
+        /**
+         * epoch 毫秒 -> pattern
+         */
+        MILLIS_TO_DATE(true, true),
+        /**
+         * pattern -> epoch 秒
+         */
+        DATE_TO_SECONDS(false, false),
+        /**
+         * pattern -> epoch 毫秒
+         */
+        DATE_TO_MILLIS(false, true);
+
+        private final boolean toDate;
+        private final boolean millis;
+
+        Mode(boolean toDate, boolean millis) {
+            this.toDate = toDate;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * 转换统计（不含表头行）
+     */
+    @Getter
+    public static class Result {
+        private long lines;
+        private long converted;
+        private long failed;
+    }
+
+    /**
+     * 一块输入及其转换结果
+     */
+    private static final class Chunk {
+        private final ByteBuffer source;
+        private final byte[] field = new byte[MAX_FIELD_LENGTH];
+        private byte[] out;
+        private int length;
+        private long lines;
+        private long converted;
+        private long failed;
+
+        private Chunk(MappedByteBuffer map, int size) {
+            this.source = map.duplicate();
+            this.out = new byte[size + (size >> 1) + 64];
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > out.length) {
+                out = Arrays.copyOf(out, Math.max(out.length * 2, length + extra));
+            }
+        }
+
+        private void copy(int start, int len) {
+            if (len <= 0) {
+                return;
+            }
+            ensure(len);
+            source.position(start);
+            source.get(out, length, len);
+            length += len;
+        }
+
+        private void writeLong(long value) {
+            ensure(20);
+            if (value < 0) {
+                out[length++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long v = value / 10; v > 0; v /= 10) {
+                digits++;
+            }
+            for (int i = length + digits - 1; i >= length; i--) {
+                out[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package dateutil.demo.utils;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 某年按指定周首日划分的周表
+ * 规则与 DateUtil 中 Calendar 的设置一致：第一周必须是完整的七天（minimalDaysInFirstWeek = 7），
+ * 即第一周从当年 1 月 1 日起第一个周首日开始，一年 52 或 53 周。
+ * 表内预先格式化好每一天的 yyyy-MM-dd，周表缓存在 64 个槽位的直接映射缓存中（按 (年, 周首日) 取槽位，冲突时替换），
+ * 最多同时持有 64 张表（约 1-2 MB）。周开始/结束、上一周/下一周、整周日期均为 O(1)；只求周数时用 {@link #weeksOf(int, int)} 直接计算，不建表。
+ * 只支持 1600-9999 年，超出范围由调用方回退到 Calendar
+ *
+ * @author hanmeng
+ */
+public final class WeekTable {
+
+    private static final int MIN_YEAR = 1600;
+    private static final int MAX_YEAR = 9999;
+
+    /**
+     * {@link #weekAndYear(int, int)} 与 Calendar 一致的最早日期 1584-01-01：
+     * 年初的几天可能属于上一年的最后一周，上一年（1583）也须完全在格里高利历切换（1582-10-15）之后
+     */
+    private static final int MIN_WEEK_AND_YEAR_EPOCH_DAY = (int) CalendarMath.daysFromCivil(1584, 1, 1);
+
+    /**
+     * 缓存槽位数，须为 2 的幂；相邻年份、同一年的不同周首日落在不同槽位
+     */
+    private static final int CACHE_SIZE = 64;
+    private static final AtomicReferenceArray<WeekTable> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final int year;
+    private final int firstDayOfWeek;
+    /**
+     * 第一周首日的 epoch day
+     */
+    private final int firstEpochDay;
+    private final int weeks;
+    /**
+     * 每一天的 yyyy-MM-dd，下标为距第一周首日的天数
+     */
+    private final String[] dates;
+
+    private WeekTable(int year, int firstDayOfWeek) {
+        this.year = year;
+        this.firstDayOfWeek = firstDayOfWeek;
+        this.firstEpochDay = firstEpochDay(year, firstDayOfWeek);
+        this.weeks = weeksOf(year, firstDayOfWeek);
+        this.dates = new String[weeks * DateUtil.WEEK_DAYS];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = format(firstEpochDay + i);
+        }
+    }
+
+    /**
+     * 是否支持该年份
+     *
+     * @param year
+     * @return
+     */
+    public static boolean supports(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    /**
+     * 获取缓存的周表
+     *
+     * @param year           1600-9999
+     * @param firstDayOfWeek 周首日，Calendar.SUNDAY - Calendar.SATURDAY
+     * @return
+     */
+    public static WeekTable of(int year, int firstDayOfWeek) {
+        if (!supports(year)) {
+            throw new IllegalArgumentException("unsupported week table year: " + year);
+        }
+        checkFirstDayOfWeek(firstDayOfWeek);
+        int slot = (year * DateUtil.WEEK_DAYS + firstDayOfWeek - Calendar.SUNDAY) & (CACHE_SIZE - 1);
+        WeekTable table = CACHE.get(slot);
+        if (table == null || table.year != year || table.firstDayOfWeek != firstDayOfWeek) {
+            // 槽位被其他年份占用时直接替换；并发时可能重复构建，结果相同
+            table = new WeekTable(year, firstDayOfWeek);
+            CACHE.set(slot, table);
+        }
+        return table;
+    }
+
+    /**
+     * 某年的周数，不构建周表，任意年份都可用
+     *
+     * @param year
+     * @param firstDayOfWeek 周首日，Calendar.SUNDAY - Calendar.SATURDAY
+     * @return 52 或 53
+     */
+    public static int weeksOf(int year, int firstDayOfWeek) {
+        checkFirstDayOfWeek(firstDayOfWeek);
+        return (firstEpochDay(year + 1, firstDayOfWeek) - firstEpochDay(year, firstDayOfWeek)) / DateUtil.WEEK_DAYS;
+    }
+
+    private static void checkFirstDayOfWeek(int firstDayOfWeek) {
+        if (firstDayOfWeek < Calendar.SUNDAY || firstDayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("invalid first day of week: " + firstDayOfWeek);
+        }
+    }
+
+    /**
+     * weekAndYear 是否与 Calendar 结果一致，之前的日期 Calendar 按儒略历计算
+     *
+     * @param epochDay
+     * @return
+     */
+    public static boolean supportsWeekAndYear(int epochDay) {
+        return epochDay >= MIN_WEEK_AND_YEAR_EPOCH_DAY;
+    }
+
+    /**
+     * epoch day 所在的 [周序号, 周所属年份]，第一周之前的日期属于上一年的最后一周
+     *
+     * @param epochDay
+     * @param firstDayOfWeek
+     * @return
+     */
+    public static int[] weekAndYear(int epochDay, int firstDayOfWeek) {
+        int year = CalendarMath.packedYear(CalendarMath.civilFromDays(epochDay));
+        int first = firstEpochDay(year, firstDayOfWeek);
+        if (epochDay < first) {
+            year--;
+            first = firstEpochDay(year, firstDayOfWeek);
+        }
+        return new int[]{(epochDay - first) / DateUtil.WEEK_DAYS + 1, year};
+    }
+
+    private static int firstEpochDay(int year, int firstDayOfWeek) {
+        int jan1 = (int) CalendarMath.daysFromCivil(year, 1, 1);
+        return jan1 + Math.floorMod(firstDayOfWeek - calendarDayOfWeek(jan1), DateUtil.WEEK_DAYS);
+    }
+
+    /**
+     * @param epochDay
+     * @return Calendar.SUNDAY - Calendar.SATURDAY
+     */
+    private static int calendarDayOfWeek(int epochDay) {
+        return EpochDateUtil.dayOfWeek(epochDay) % DateUtil.WEEK_DAYS + 1;
+    }
+
+    private static String format(int epochDay) {
+        return FixedDateFormatter.format(ZoneOffsetCache.getDefault().startOfEpochDay(epochDay), DateUtil.DATE_FORMAT_YMD);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * 当年的周数
+     *
+     * @return 52 或 53
+     */
+    public int weeks() {
+        return weeks;
+    }
+
+    /**
+     * 某周第一天的 epoch day，周序号超出范围时与 Calendar 的宽松模式一样顺延
+     *
+     * @param weekOfYear
+     * @return
+     */
+    public int weekStart(int weekOfYear) {
+        return firstEpochDay + (weekOfYear - 1) * DateUtil.WEEK_DAYS;
+    }
+
+    /**
+     * 某周最后一天的 epoch day
+     *
+     * @param weekOfYear
+     * @return
+     */
+    public int weekEnd(int weekOfYear) {
+        return weekStart(weekOfYear) + DateUtil.WEEK_DAYS - 1;
+    }
+
+    /**
+     * 某周星期几的日期，同 DateUtil.getDateForDayOfWeek
+     *
+     * @param weekOfYear
+     * @param dayOfWeek  Calendar.SUNDAY - Calendar.SATURDAY，超出时按 7 取模
+     * @return yyyy-MM-dd
+     */
+    public String date(int weekOfYear, int dayOfWeek) {
+        int index = (weekOfYear - 1) * DateUtil.WEEK_DAYS + Math.floorMod(dayOfWeek - firstDayOfWeek, DateUtil.WEEK_DAYS);
+        if (index >= 0 && index < dates.length) {
+            return dates[index];
+        }
+        return format(firstEpochDay + index);
+    }
+
+    /**
+     * 某周的七天，从周首日开始
+     *
+     * @param weekOfYear
+     * @return yyyy-MM-dd 格式的日期列表
+     */
+    public List<String> weekDays(int weekOfYear) {
+        List<String> days = new ArrayList<>(DateUtil.WEEK_DAYS);
+        int start = (weekOfYear - 1) * DateUtil.WEEK_DAYS;
+        for (int i = start; i < start + DateUtil.WEEK_DAYS; i++) {
+            days.add(i >= 0 && i < dates.length ? dates[i] : format(firstEpochDay + i));
+        }
+        return days;
+    }
+
+    /**
+     * 下一个[周，年]
+     *
+     * @param weekOfYear
+     * @return
+     */
+    public int[] next(int weekOfYear) {
+        return weekOfYear == weeks ? new int[]{1, year + 1} : new int[]{weekOfYear + 1, year};
+    }
+
+    /**
+     * 上一个[周，年]
+     *
+     * @param weekOfYear
+     * @return
+     */
+    public int[] previous(int weekOfYear) {
+        if (weekOfYear == 1) {
+            return new int[]{weeksOf(year - 1, firstDayOfWeek), year - 1};
+        }
+        return new int[]{weekOfYear - 1, year};
+    }
+}
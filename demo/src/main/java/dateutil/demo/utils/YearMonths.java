@@ -0,0 +1,205 @@
+package dateutil.demo.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 年月的 int 编码：year * 12 + month - 1（month 从 1 开始），与 {@link CalendarRanges#months} 相同。
+ * 加减月份、月份差、枚举都是整数运算；1900-2100 年的 yyyy-MM 字符串预先生成，格式化只是查表，
+ * 月份类报表可以全程用 int 计算，只在输出时取字符串
+ *
+ * @author hanmeng
+ */
+public final class YearMonths {
+
+    /**
+     * 解析失败
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int TABLE_FROM_YEAR = 1900;
+    private static final int TABLE_TO_YEAR = 2100;
+    private static final int TABLE_FIRST = TABLE_FROM_YEAR * 12;
+    /**
+     * 下标为 yearMonth - TABLE_FIRST
+     */
+    private static final String[] TABLE = new String[(TABLE_TO_YEAR - TABLE_FROM_YEAR + 1) * 12];
+
+    static {
+        char[] buf = new char[7];
+        buf[4] = '-';
+        for (int i = 0; i < TABLE.length; i++) {
+            int year = TABLE_FROM_YEAR + i / 12;
+            int month = i % 12 + 1;
+            buf[0] = (char) ('0' + year / 1000);
+            buf[1] = (char) ('0' + year / 100 % 10);
+            buf[2] = (char) ('0' + year / 10 % 10);
+            buf[3] = (char) ('0' + year % 10);
+            buf[5] = (char) ('0' + month / 10);
+            buf[6] = (char) ('0' + month % 10);
+            TABLE[i] = new String(buf);
+        }
+    }
+
+    private YearMonths() {
+    }
+
+    /**
+     * @param year
+     * @param month 1-12
+     * @return
+     */
+    public static int of(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("invalid month: " + month);
+        }
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * 毫秒时间戳所在的本地年月
+     *
+     * @param millis
+     * @return
+     */
+    public static int of(long millis) {
+        int packed = CalendarMath.civilFromDays(EpochDateUtil.epochDay(millis));
+        return CalendarMath.packedYear(packed) * 12 + CalendarMath.packedMonth(packed) - 1;
+    }
+
+    public static int year(int yearMonth) {
+        return Math.floorDiv(yearMonth, 12);
+    }
+
+    /**
+     * @param yearMonth
+     * @return 1-12
+     */
+    public static int month(int yearMonth) {
+        return Math.floorMod(yearMonth, 12) + 1;
+    }
+
+    /**
+     * 严格按 yyyy-MM 解析，月份须为 01-12
+     *
+     * @param s
+     * @return 年月 或 INVALID
+     */
+    public static int parse(CharSequence s) {
+        if (s == null || s.length() != 7 || s.charAt(4) != '-') {
+            return INVALID;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return INVALID;
+            }
+            year = year * 10 + d;
+        }
+        int tens = s.charAt(5) - '0';
+        int ones = s.charAt(6) - '0';
+        if (tens < 0 || tens > 1 || ones < 0 || ones > 9) {
+            return INVALID;
+        }
+        int month = tens * 10 + ones;
+        if (month < 1 || month > 12) {
+            return INVALID;
+        }
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * 格式化为 yyyy-MM，1900-2100 年返回共享的字符串
+     *
+     * @param yearMonth
+     * @return
+     */
+    public static String format(int yearMonth) {
+        int index = yearMonth - TABLE_FIRST;
+        if (index >= 0 && index < TABLE.length) {
+            return TABLE[index];
+        }
+        return FixedDateFormatter.format(startMillis(yearMonth), DateUtil.DATE_FORMAT_YM);
+    }
+
+    /**
+     * 每月 1 日 0 点（毫秒）
+     *
+     * @param yearMonth
+     * @return
+     */
+    public static long startMillis(int yearMonth) {
+        return EpochDateUtil.startOfEpochDay((int) CalendarMath.daysFromCivil(year(yearMonth), month(yearMonth), 1));
+    }
+
+    /**
+     * [from, to] 内的每个年月，to 早于 from 时为空
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public static IntStream range(int from, int to) {
+        return IntStream.rangeClosed(from, to);
+    }
+
+    /**
+     * [from, to] 内每个年月的 yyyy-MM，to 早于 from 时为空列表
+     *
+     * @param from
+     * @param to
+     * @return 可修改的新列表
+     */
+    public static List<String> strings(int from, int to) {
+        if (to < from) {
+            return new ArrayList<>();
+        }
+        int first = from - TABLE_FIRST;
+        int end = to - TABLE_FIRST + 1;
+        if (first >= 0 && end <= TABLE.length) {
+            return new ArrayList<>(Arrays.asList(TABLE).subList(first, end));
+        }
+        List<String> result = new ArrayList<>(to - from + 1);
+        for (int ym = from; ym <= to; ym++) {
+            result.add(format(ym));
+        }
+        return result;
+    }
+
+    /**
+     * 两个时间之间相差的整月数，与 Joda 的 Months.monthsBetween 一致：
+     * 按本地日期时间比较，结束时间在月内的位置早于开始时间时不足一个月不计，
+     * 结束日为月末且开始日更大时（如 1 月 31 日到 2 月 28 日）按整月计
+     *
+     * @param startMillis
+     * @param endMillis
+     * @return endMillis 早于 startMillis 时为负数
+     */
+    public static int monthsBetween(long startMillis, long endMillis) {
+        if (endMillis < startMillis) {
+            return -monthsBetween(endMillis, startMillis);
+        }
+        ZoneOffsetCache zone = ZoneOffsetCache.getDefault();
+        long startLocal = zone.toLocal(startMillis);
+        long endLocal = zone.toLocal(endMillis);
+        int startDay = (int) Math.floorDiv(startLocal, CalendarMath.MILLIS_PER_DAY);
+        int endDay = (int) Math.floorDiv(endLocal, CalendarMath.MILLIS_PER_DAY);
+        int start = CalendarMath.civilFromDays(startDay);
+        int end = CalendarMath.civilFromDays(endDay);
+        int endYear = CalendarMath.packedYear(end);
+        int endMonth = CalendarMath.packedMonth(end);
+        int months = (endYear - CalendarMath.packedYear(start)) * 12 + endMonth - CalendarMath.packedMonth(start);
+
+        int startDom = CalendarMath.packedDay(start);
+        int endDom = CalendarMath.packedDay(end);
+        if (endDom == CalendarMath.lengthOfMonth(endYear, endMonth) && startDom > endDom) {
+            startDom = endDom;
+        }
+        long startRem = (startDom - 1) * CalendarMath.MILLIS_PER_DAY + (startLocal - startDay * CalendarMath.MILLIS_PER_DAY);
+        long endRem = (endDom - 1) * CalendarMath.MILLIS_PER_DAY + (endLocal - endDay * CalendarMath.MILLIS_PER_DAY);
+        return endRem < startRem ? months - 1 : months;
+    }
+}
@@ -0,0 +1,205 @@
+package dateutil.demo.utils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * 时区偏移量跳变缓存
+ * 把时区在 1900-2200 年间的所有偏移量跳变（夏令时切换、历史调整）预先展开成有序的 long[]，
+ * 跳变时刻取自 ZoneRules，偏移量取自 TimeZone（早期的地方平太时与 TimeZone 的处理保持一致），
+ * 查询任意 UTC 毫秒的偏移量是一次无状态的二分查找，不创建对象；本地时间与 UTC 的换算、本地日期的 0 点等都基于它计算，
+ * 跨夏令时切换时结果与 GregorianCalendar 一致。实例不可变，可被多个线程共享
+ *
+ * @author hanmeng
+ */
+public final class ZoneOffsetCache {
+
+    private static final long RANGE_START = -2208988800000L;
+    private static final long RANGE_END = 7258118400000L;
+
+    private static volatile ZoneOffsetCache defaultCache = new ZoneOffsetCache(TimeZone.getDefault());
+
+    private final ZoneId zone;
+    private final TimeZone timeZone;
+    private final int rawOffset;
+    /**
+     * 跳变时刻（UTC 毫秒），升序
+     */
+    private final long[] transitions;
+    /**
+     * offsets[i] 为 transitions[i-1] 到 transitions[i] 之间的偏移量，长度比 transitions 多 1
+     */
+    private final int[] offsets;
+    /**
+     * 超过该时刻后需要回退到 TimeZone 计算
+     */
+    private final long cachedUntil;
+
+    private ZoneOffsetCache(ZoneId zone) {
+        this(zone, TimeZone.getTimeZone(zone));
+    }
+
+    private ZoneOffsetCache(TimeZone timeZone) {
+        this(timeZone.toZoneId(), timeZone);
+    }
+
+    private ZoneOffsetCache(ZoneId zone, TimeZone timeZone) {
+        this.zone = zone;
+        this.timeZone = timeZone;
+        this.rawOffset = timeZone.getRawOffset();
+        ZoneRules rules = zone.getRules();
+
+        Instant cursor = Instant.ofEpochMilli(RANGE_START);
+        int count = 0;
+        long[] times = new long[64];
+        int[] offs = new int[65];
+        offs[0] = timeZone.getOffset(RANGE_START);
+        ZoneOffsetTransition transition = rules.nextTransition(cursor);
+        while (transition != null && transition.toEpochSecond() * 1000 < RANGE_END) {
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                offs = Arrays.copyOf(offs, count * 2 + 1);
+            }
+            times[count] = transition.toEpochSecond() * 1000;
+            offs[count + 1] = timeZone.getOffset(times[count]);
+            count++;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        this.transitions = Arrays.copyOf(times, count);
+        this.offsets = Arrays.copyOf(offs, count + 1);
+        this.cachedUntil = transition == null ? Long.MAX_VALUE : RANGE_END;
+    }
+
+    /**
+     * 当前默认时区的缓存，每次调用都与 TimeZone.getDefault() 比较，TimeZone.setDefault 之后按新时区重建。
+     * 调用方不要把结果存成字段，否则默认时区变化后仍在用旧时区
+     *
+     * @return
+     */
+    public static ZoneOffsetCache getDefault() {
+        TimeZone timeZone = TimeZone.getDefault();
+        ZoneOffsetCache cache = defaultCache;
+        if (!timeZone.equals(cache.timeZone)) {
+            cache = new ZoneOffsetCache(timeZone);
+            defaultCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * 指定时区的缓存
+     *
+     * @param zone
+     * @return
+     */
+    public static ZoneOffsetCache of(ZoneId zone) {
+        ZoneOffsetCache cache = defaultCache;
+        return zone.equals(cache.zone) ? cache : new ZoneOffsetCache(zone);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * UTC 毫秒对应的偏移量（毫秒）
+     *
+     * @param utcMillis
+     * @return
+     */
+    public int offsetAt(long utcMillis) {
+        if (utcMillis < RANGE_START || utcMillis >= cachedUntil) {
+            return slowOffset(utcMillis);
+        }
+        int lo = 0;
+        int hi = transitions.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (transitions[mid] <= utcMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return offsets[lo];
+    }
+
+    private int slowOffset(long utcMillis) {
+        return timeZone.getOffset(utcMillis);
+    }
+
+    /**
+     * UTC 毫秒转换为本地时间（按 UTC 计的本地毫秒）
+     *
+     * @param utcMillis
+     * @return
+     */
+    public long toLocal(long utcMillis) {
+        return utcMillis + offsetAt(utcMillis);
+    }
+
+    /**
+     * 本地时间（按 UTC 计的本地毫秒）转换为 UTC 毫秒
+     * 夏令时重叠区间与 GregorianCalendar 一样取标准时间，跳变空档内的时间按跳变前的偏移量顺延
+     *
+     * @param localMillis
+     * @return
+     */
+    public long toUtc(long localMillis) {
+        long utc = localMillis - offsetAt(localMillis - rawOffset);
+        int offset = offsetAt(utc);
+        if (localMillis - offset == utc) {
+            return utc;
+        }
+        long retry = localMillis - offset;
+        int retryOffset = offsetAt(retry);
+        if (retryOffset == offset) {
+            return retry;
+        }
+        return localMillis - Math.min(offset, retryOffset);
+    }
+
+    /**
+     * UTC 毫秒所在的本地日期（epoch day）
+     *
+     * @param utcMillis
+     * @return
+     */
+    public int epochDay(long utcMillis) {
+        return (int) Math.floorDiv(toLocal(utcMillis), CalendarMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 本地日期的开始时刻，0 点落在夏令时空档内时为跳变后的第一个时刻
+     *
+     * @param epochDay
+     * @return
+     */
+    public long startOfEpochDay(int epochDay) {
+        return toUtc(epochDay * CalendarMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 所在本地日期的开始时刻
+     *
+     * @param utcMillis
+     * @return
+     */
+    public long startOfDay(long utcMillis) {
+        return startOfEpochDay(epochDay(utcMillis));
+    }
+
+    /**
+     * 所在本地日期的最后一毫秒（23:59:59.999）
+     *
+     * @param utcMillis
+     * @return
+     */
+    public long endOfDay(long utcMillis) {
+        return startOfEpochDay(epochDay(utcMillis) + 1) - 1;
+    }
+}
@@ -0,0 +1,59 @@
+package dateutil.demo.common;
+
+import dateutil.demo.utils.DateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeIntervalTest {
+
+    private static long at(String full) {
+        return DateUtil.formatStringToDate(full, DateUtil.DATE_FORMAT_FULL).getTime();
+    }
+
+    @Test
+    void algebra() {
+        TimeInterval a = TimeInterval.of(100, 199);
+        TimeInterval b = TimeInterval.of(150, 300);
+        TimeInterval c = TimeInterval.of(200, 250);
+        TimeInterval d = TimeInterval.of(400, 500);
+
+        assertTrue(a.overlaps(b));
+        assertEquals(TimeInterval.of(150, 199), a.intersection(b));
+        assertNull(a.intersection(c));
+        assertTrue(a.abuts(c));
+        assertEquals(TimeInterval.of(100, 250), a.union(c));
+        assertNull(a.union(d));
+        assertEquals(TimeInterval.of(200, 399), a.gap(d));
+        assertNull(a.gap(c));
+        assertTrue(b.contains(c));
+        assertFalse(c.contains(b));
+        assertEquals(100, a.durationMillis());
+        assertEquals(a, TimeInterval.of(a.toDateRange()));
+    }
+
+    @Test
+    void splitsOnLocalCalendarBoundaries() {
+        TimeInterval range = TimeInterval.of(at("2021-01-30 12:00:00"), at("2021-03-02 08:00:00"));
+
+        List<TimeInterval> days = range.splitByDay();
+        assertEquals(32, days.size());
+        assertEquals(TimeInterval.of(at("2021-01-30 12:00:00"), at("2021-01-31 00:00:00") - 1), days.get(0));
+        assertEquals(TimeInterval.of(at("2021-03-02 00:00:00"), range.getEnd()), days.get(31));
+
+        List<TimeInterval> weeks = range.splitByWeek();
+        assertEquals(6, weeks.size());
+        assertEquals(at("2021-02-01 00:00:00"), weeks.get(1).getStart());
+
+        List<TimeInterval> months = range.splitByMonth();
+        assertEquals(3, months.size());
+        assertEquals(TimeInterval.of(at("2021-02-01 00:00:00"), at("2021-03-01 00:00:00") - 1), months.get(1));
+        assertTrue(DateUtil.isTimeInRange(new Date(at("2021-02-10 00:00:00")), months.get(1)));
+    }
+}
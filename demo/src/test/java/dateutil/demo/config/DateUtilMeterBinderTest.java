@@ -0,0 +1,71 @@
+package dateutil.demo.config;
+
+import dateutil.demo.utils.DateUtil;
+import dateutil.demo.utils.DateUtilMetrics;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateUtilMeterBinderTest {
+
+    @AfterEach
+    void tearDown() {
+        DateUtil.disableMetrics();
+    }
+
+    @Test
+    void publishesOperationsAndFailuresByPattern() {
+        DateUtilMetrics metrics = new DateUtilMetrics();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DateUtil.enableMetrics(metrics);
+        new DateUtilMeterBinder(metrics).bindTo(registry);
+
+        Date date = DateUtil.formatStringToDate("2021-04-01", DateUtil.DATE_FORMAT_YMD);
+        DateUtil.tryParse("2021/04/01", DateUtil.DATE_FORMAT_YMD);
+        DateUtil.tryParse("bad", "yyyy/MM/dd");
+        DateUtil.formatDateToString(date, "yyyy/MM/dd E");
+        DateUtil.getBeforeNumDate(date, Calendar.DATE, 3);
+        DateUtil.getYearQuarter(date, false);
+        DateUtil.getWeeksByYear(2021);
+
+        FunctionTimer parse = registry.get("dateutil.operation").tag("operation", "parse").functionTimer();
+        assertEquals(3, parse.count(), 0);
+        assertTrue(parse.totalTime(TimeUnit.NANOSECONDS) > 0);
+        for (String operation : new String[]{"format", "arithmetic", "week_quarter", "range_list"}) {
+            assertEquals(1, registry.get("dateutil.operation").tag("operation", operation).functionTimer().count(), 0, operation);
+        }
+
+        assertEquals(1, registry.get("dateutil.parse.failures").tag("pattern", DateUtil.DATE_FORMAT_YMD).functionCounter().count(), 0);
+        assertEquals(1, registry.get("dateutil.parse.failures").tag("pattern", "yyyy/MM/dd").functionCounter().count(), 0);
+        assertTrue(registry.get("dateutil.formatter.lookups").tag("result", "hit").functionCounter().count() > 0);
+        assertEquals(0, registry.get("dateutil.day.cache.requests").tag("result", "hit").functionCounter().count(), 0);
+    }
+
+    @Test
+    void failurePatternsAreCapped() {
+        DateUtilMetrics metrics = new DateUtilMetrics();
+        for (int i = 0; i < DateUtilMetrics.MAX_FAILURE_PATTERNS + 10; i++) {
+            metrics.parseFailed("p" + i);
+        }
+        assertEquals(DateUtilMetrics.MAX_FAILURE_PATTERNS + 1, metrics.parseFailures().size());
+        assertEquals(10, metrics.parseFailureCount(DateUtilMetrics.OTHER_PATTERN));
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        DateUtilMetrics metrics = new DateUtilMetrics();
+        DateUtil.enableMetrics(metrics);
+        DateUtil.disableMetrics();
+        DateUtil.tryParse("bad", DateUtil.DATE_FORMAT_YMD);
+        assertEquals(0, metrics.count(DateUtilMetrics.Operation.PARSE));
+        assertEquals(0, metrics.parseFailures().size());
+    }
+}
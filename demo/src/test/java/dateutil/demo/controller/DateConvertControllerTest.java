@@ -0,0 +1,70 @@
+package dateutil.demo.controller;
+
+import dateutil.demo.utils.DateUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DateConvertControllerTest {
+
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new DateConvertController()).build();
+
+    private static long at(String full) {
+        return DateUtil.formatStringToDate(full, DateUtil.DATE_FORMAT_FULL).getTime();
+    }
+
+    @Test
+    void convertsArraysElementWise() throws Exception {
+        long april = at("2021-04-01 00:00:00");
+        mvc.perform(post("/date/format").param("pattern", DateUtil.DATE_FORMAT_YMD)
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + april + ", null, \"x\"]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"2021-04-01\", null, null]", true));
+
+        mvc.perform(post("/date/parse").param("pattern", DateUtil.DATE_FORMAT_YMD)
+                        .contentType(MediaType.APPLICATION_JSON).content("[\"2021-04-01\", \"bad\"]"))
+                .andExpect(content().json("[" + april + ", null]", true));
+
+        mvc.perform(post("/date/week-year").contentType(MediaType.APPLICATION_JSON).content("[" + april + "]"))
+                .andExpect(content().json("[[13, 2021]]", true));
+
+        mvc.perform(post("/date/year-quarter").contentType(MediaType.APPLICATION_JSON).content("[" + april + "]"))
+                .andExpect(content().json("[\"2021_2\"]", true));
+    }
+
+    @Test
+    void enumeratesRangesAndRejectsBadInput() throws Exception {
+        mvc.perform(get("/date/range").param("unit", "month")
+                        .param("from", String.valueOf(at("2020-11-30 00:00:00")))
+                        .param("to", String.valueOf(at("2021-02-01 00:00:00"))))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"2020-11\", \"2020-12\", \"2021-01\", \"2021-02\"]", true));
+
+        mvc.perform(get("/date/range").param("unit", "hour").param("from", "0").param("to", String.valueOf(Long.MAX_VALUE / 2)))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/date/range").param("unit", "year").param("from", "0").param("to", "1"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/date/format").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+
+        // 只接受 DATE_FORMAT_* 常量
+        mvc.perform(post("/date/format").param("pattern", "yyyy-MM-dd 'x'")
+                        .contentType(MediaType.APPLICATION_JSON).content("[0]"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/date/parse").param("pattern", "yyyy")
+                        .contentType(MediaType.APPLICATION_JSON).content("[\"2021\"]"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/date/parse").param("pattern", "dd/MM/yyyy")
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/date/range").param("unit", "day").param("from", "0").param("to", "1")
+                        .param("pattern", "EEE"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,152 @@
+package dateutil.demo.controller;
+
+import dateutil.demo.DemoApplication;
+import dateutil.demo.utils.DateUtil;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateConvertController 的本地压测，不作为单测运行
+ * 在随机端口启动内嵌服务，多个线程循环提交同一批数据，预热后统计 p50 / p99 延迟和每秒请求数。
+ * 运行：在 IDE 中直接执行 main，参数依次为 线程数 秒数 每批元素数 接口（format / parse / week-year / year-quarter），
+ * 例如 8 30 2000 format
+ *
+ * @author hanmeng
+ */
+public class DateConvertLoadHarness {
+
+    private static final int WARMUP_SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        String endpoint = args.length > 3 ? args[3] : "format";
+
+        // devtools 的重启会用 SpringApplication 的参数重新调用 main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(DemoApplication.class,
+                "--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URL url = new URL("http://localhost:" + port + "/date/" + endpoint
+                    + ("parse".equals(endpoint) ? "?pattern=" + DateUtil.DATE_FORMAT_YMD : ""));
+            byte[] body = body(endpoint, batch);
+
+            run(url, body, threads, WARMUP_SECONDS);
+            long[] latencies = run(url, body, threads, seconds);
+
+            Arrays.sort(latencies);
+            System.out.printf("endpoint=%s threads=%d batch=%d requests=%d%n", endpoint, threads, batch, latencies.length);
+            System.out.printf("rps=%.1f elements/s=%.0f%n",
+                    latencies.length / (double) seconds, latencies.length * (double) batch / seconds);
+            System.out.printf("p50=%.2fms p99=%.2fms max=%.2fms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static byte[] body(String endpoint, int batch) {
+        StringBuilder sb = new StringBuilder(batch * 16).append('[');
+        long base = System.currentTimeMillis();
+        for (int i = 0; i < batch; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            long millis = base - i * 3_600_000L * 7;
+            if ("parse".equals(endpoint)) {
+                sb.append('"').append(DateUtil.formatDateToString(new Date(millis), DateUtil.DATE_FORMAT_YMD)).append('"');
+            } else {
+                sb.append(millis);
+            }
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 每个请求的耗时（纳秒）
+     */
+    private static long[] run(URL url, byte[] body, int threads, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[][] perThread = new long[threads][];
+        int[] counts = new int[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int n = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        post(url, body);
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    perThread[index] = latencies;
+                    counts[index] = n;
+                    done.countDown();
+                }
+            }, "load-" + t);
+            worker.start();
+        }
+        done.await();
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(perThread[t], 0, all, pos, counts[t]);
+            pos += counts[t];
+        }
+        return all;
+    }
+
+    private static void post(URL url, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("unexpected status " + connection.getResponseCode());
+        }
+        byte[] buf = new byte[8192];
+        try (InputStream in = connection.getInputStream()) {
+            while (in.read(buf) >= 0) {
+                // 读完响应体，连接才能被复用
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,153 @@
+package dateutil.demo.hive;
+
+import dateutil.demo.utils.DateUtil;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.VectorExpression;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateUtilUDFTest {
+
+    private static final long[] MILLIS = {
+            DateUtil.formatStringToDate("2021-04-01 00:00:00", DateUtil.DATE_FORMAT_FULL).getTime(),
+            DateUtil.formatStringToDate("2021-01-03 23:59:59", DateUtil.DATE_FORMAT_FULL).getTime(),
+            DateUtil.formatStringToDate("2020-12-31 12:00:00", DateUtil.DATE_FORMAT_FULL).getTime(),
+            System.currentTimeMillis() - 3_600_000L * 30
+    };
+
+    private static ObjectInspector constant(String value) {
+        return PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text(value));
+    }
+
+    private static Object call(GenericUDF udf, Object... values) throws Exception {
+        DeferredObject[] arguments = new DeferredObject[values.length];
+        for (int i = 0; i < values.length; i++) {
+            arguments[i] = new DeferredJavaObject(values[i]);
+        }
+        Object result = udf.evaluate(arguments);
+        return result == null ? null : result.toString();
+    }
+
+    /**
+     * 第 1 行为空值，其余为 MILLIS
+     */
+    private static VectorizedRowBatch longBatch() {
+        VectorizedRowBatch batch = new VectorizedRowBatch(2);
+        LongColumnVector in = new LongColumnVector();
+        batch.cols[0] = in;
+        batch.cols[1] = new BytesColumnVector();
+        in.noNulls = false;
+        in.isNull[1] = true;
+        for (int i = 0; i < MILLIS.length; i++) {
+            in.vector[i < 1 ? i : i + 1] = MILLIS[i];
+        }
+        batch.size = MILLIS.length + 1;
+        return batch;
+    }
+
+    private static String text(BytesColumnVector out, int row) {
+        return out.isNull[row] ? null : new String(out.vector[row], out.start[row], out.length[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 行模式与向量化模式结果一致，且与 DateUtil 一致
+     */
+    private static void assertSameAsRowMode(GenericUDF udf, VectorExpression vector, Object... extra) throws Exception {
+        VectorizedRowBatch batch = longBatch();
+        vector.evaluate(batch);
+        BytesColumnVector out = (BytesColumnVector) batch.cols[1];
+        assertTrue(out.isNull[1]);
+        for (int i = 0; i < MILLIS.length; i++) {
+            Object[] values = new Object[extra.length + 1];
+            values[0] = MILLIS[i];
+            System.arraycopy(extra, 0, values, 1, extra.length);
+            assertEquals(call(udf, values), text(out, i < 1 ? i : i + 1));
+        }
+    }
+
+    @Test
+    void formatMatchesDateUtil() throws Exception {
+        DateFormatUDF udf = new DateFormatUDF();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaLongObjectInspector, constant(DateUtil.DATE_FORMAT_FULL)});
+        assertEquals("2021-04-01 00:00:00", call(udf, MILLIS[0], DateUtil.DATE_FORMAT_FULL));
+        assertNull(call(udf, null, DateUtil.DATE_FORMAT_FULL));
+        assertSameAsRowMode(udf, new DateFormatUDF.Vectorized(0, DateUtil.DATE_FORMAT_FULL.getBytes(StandardCharsets.UTF_8), 1),
+                DateUtil.DATE_FORMAT_FULL);
+
+        DateFormatUDF other = new DateFormatUDF();
+        other.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaLongObjectInspector, constant("yyyy/MM/dd E")});
+        assertSameAsRowMode(other, new DateFormatUDF.Vectorized(0, "yyyy/MM/dd E".getBytes(StandardCharsets.UTF_8), 1),
+                "yyyy/MM/dd E");
+    }
+
+    @Test
+    void weekQuarterAndExtentMatchDateUtil() throws Exception {
+        WeekYearUDF week = new WeekYearUDF();
+        week.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaLongObjectInspector});
+        assertEquals("2021_13", call(week, MILLIS[0]));
+        int[] weekAndYear = DateUtil.getWeekAndYear("2021-01-03", 0, Calendar.MONDAY);
+        assertEquals(weekAndYear[1] + "_" + weekAndYear[0], call(week, MILLIS[1]));
+        assertSameAsRowMode(week, new WeekYearUDF.Vectorized(0, 1));
+
+        YearQuarterUDF quarter = new YearQuarterUDF();
+        quarter.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaLongObjectInspector});
+        assertEquals(DateUtil.getYearQuarter(new Date(MILLIS[2]), false), call(quarter, MILLIS[2]));
+        assertSameAsRowMode(quarter, new YearQuarterUDF.Vectorized(0, 1));
+
+        TimeExtentUDF extent = new TimeExtentUDF();
+        extent.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaLongObjectInspector});
+        assertEquals(DateUtil.getTimeExtent(new Date(MILLIS[3])), call(extent, MILLIS[3]));
+        assertSameAsRowMode(extent, new TimeExtentUDF.Vectorized(0, 1));
+    }
+
+    @Test
+    void parseReturnsNullOnFailure() throws Exception {
+        DateParseUDF udf = new DateParseUDF();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaStringObjectInspector, constant(DateUtil.DATE_FORMAT_YMD)});
+        assertEquals(String.valueOf(DateUtil.tryParse("2021-04-01", DateUtil.DATE_FORMAT_YMD)), call(udf, "2021-04-01", DateUtil.DATE_FORMAT_YMD));
+        assertNull(call(udf, "2021/04/01", DateUtil.DATE_FORMAT_YMD));
+
+        String[] dates = {"2021-04-01", "bad", null, "2020-02-29"};
+        VectorizedRowBatch batch = new VectorizedRowBatch(2);
+        BytesColumnVector in = new BytesColumnVector();
+        LongColumnVector out = new LongColumnVector();
+        batch.cols[0] = in;
+        batch.cols[1] = out;
+        in.initBuffer();
+        in.noNulls = false;
+        for (int i = 0; i < dates.length; i++) {
+            if (dates[i] == null) {
+                in.isNull[i] = true;
+            } else {
+                in.setVal(i, dates[i].getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        batch.size = dates.length;
+        new DateParseUDF.Vectorized(0, DateUtil.DATE_FORMAT_YMD.getBytes(StandardCharsets.UTF_8), 1).evaluate(batch);
+
+        assertEquals(DateUtil.tryParse("2021-04-01", DateUtil.DATE_FORMAT_YMD), out.vector[0]);
+        assertTrue(out.isNull[1]);
+        assertTrue(out.isNull[2]);
+        assertEquals(DateUtil.tryParse("2020-02-29", DateUtil.DATE_FORMAT_YMD), out.vector[3]);
+        assertEquals(String.valueOf(out.vector[3]), call(udf, new Text("2020-02-29"), DateUtil.DATE_FORMAT_YMD));
+        assertEquals(new LongWritable(out.vector[0]).toString(), call(udf, "2021-04-01", DateUtil.DATE_FORMAT_YMD));
+    }
+}
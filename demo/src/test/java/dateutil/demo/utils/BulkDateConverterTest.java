@@ -0,0 +1,40 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkDateConverterTest {
+
+    @Test
+    void parallelBatchMatchesSingleCalls() {
+        int n = BulkDateConverter.PARALLEL_THRESHOLD * 3 + 17;
+        Random random = new Random(7);
+        long[] millis = new long[n];
+        for (int i = 0; i < n; i++) {
+            millis[i] = 946656000000L + (long) (random.nextDouble() * 1e12) / 1000 * 1000;
+        }
+
+        String[] texts = DateUtil.formatDateToString(millis, DateUtil.DATE_FORMAT_FULL);
+        byte[] bytes = new byte[n * 19];
+        assertEquals(0, BulkDateConverter.formatToBytes(millis, DateUtil.DATE_FORMAT_FULL, bytes).length);
+        for (int i = 0; i < n; i += 997) {
+            assertEquals(DateUtil.dateTime2String(new Date(millis[i])), texts[i]);
+            assertEquals(texts[i], new String(bytes, i * 19, 19, StandardCharsets.US_ASCII));
+        }
+
+        texts[5] = "bad";
+        texts[n - 1] = null;
+        long[] parsed = new long[n];
+        int[] failed = DateUtil.tryParse(texts, DateUtil.DATE_FORMAT_FULL, parsed);
+        assertArrayEquals(new int[]{5, n - 1}, failed);
+        assertEquals(DateUtil.PARSE_FAILED, parsed[5]);
+        assertEquals(millis[6], parsed[6]);
+        assertEquals(millis[n - 2], parsed[n - 2]);
+    }
+}
@@ -0,0 +1,107 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BusinessCalendarTest {
+
+    private static int day(String ymd) {
+        return EpochDateUtil.epochDay(DateUtil.tryParse(ymd, DateUtil.DATE_FORMAT_YMD));
+    }
+
+    /**
+     * 逐日推进的参考实现
+     */
+    private static int addByLoop(BusinessCalendar calendar, int day, int amount) {
+        int step = amount > 0 ? 1 : -1;
+        int remaining = Math.abs(amount);
+        while (remaining > 0) {
+            day += step;
+            if (calendar.isWorkingDay(day)) {
+                remaining--;
+            }
+        }
+        return day;
+    }
+
+    @Test
+    void loadsHolidayFileAndRegistry(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("cn.txt");
+        Files.write(file, Arrays.asList(
+                "# 2021 国庆",
+                "2021-10-01 holiday 国庆节",
+                "2021-10-04 holiday",
+                "2021-10-05 holiday",
+                "2021-10-06 holiday",
+                "2021-10-07 holiday",
+                "",
+                "2021-09-26 workday 调休",
+                "2021-10-09 workday 调休"), StandardCharsets.UTF_8);
+        BusinessCalendar cn = BusinessCalendarRegistry.load("cn", file);
+        try {
+            assertEquals(2021, cn.getFromYear());
+            assertTrue(cn.isWorkingDay(day("2021-09-26")));
+            assertFalse(cn.isWorkingDay(day("2021-10-01")));
+            assertTrue(cn.isWorkingDay(day("2021-10-08")));
+            assertEquals(day("2021-10-08"), cn.addWorkingDays(day("2021-09-30"), 1));
+            assertEquals(day("2021-10-09"), cn.addWorkingDays(day("2021-10-08"), 1));
+            assertEquals(day("2021-09-30"), cn.addWorkingDays(day("2021-10-03"), -1));
+            assertEquals(3, cn.workingDaysBetween(day("2021-09-30"), day("2021-10-11")));
+            assertEquals(-3, cn.workingDaysBetween(day("2021-10-11"), day("2021-09-30")));
+
+            Date friday = DateUtil.formatStringToDate("2021-09-30 18:30:00", DateUtil.DATE_FORMAT_FULL);
+            assertEquals("2021-10-08 18:30:00",
+                    DateUtil.formatDateToString(DateUtil.getAfterNumWorkingDate(friday, 1, "cn"), DateUtil.DATE_FORMAT_FULL));
+            assertEquals(cn, BusinessCalendarRegistry.get("cn"));
+            assertTrue(BusinessCalendarRegistry.names().contains("cn"));
+        } finally {
+            BusinessCalendarRegistry.remove("cn");
+        }
+        assertThrows(IllegalArgumentException.class, () -> BusinessCalendarRegistry.get("cn"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BusinessCalendar.parse("bad", Arrays.asList("2021-10-01 vacation")));
+    }
+
+    @Test
+    void matchesDayByDayLoopInsideAndOutsideRange() {
+        Random random = new Random(11);
+        int from = day("2020-01-01");
+        int[] holidays = new int[120];
+        int[] workdays = new int[30];
+        for (int i = 0; i < holidays.length; i++) {
+            holidays[i] = from + random.nextInt(731);
+        }
+        for (int i = 0; i < workdays.length; i++) {
+            workdays[i] = from + random.nextInt(731);
+        }
+        BusinessCalendar calendar = BusinessCalendar.of("random", 2020, 2021, holidays, workdays);
+
+        for (int i = 0; i < 3000; i++) {
+            // 覆盖范围前后各留出一年
+            int start = from - 366 + random.nextInt(731 + 732);
+            int end = start + random.nextInt(400) - 200;
+            int expected = 0;
+            for (int d = Math.min(start, end); d < Math.max(start, end); d++) {
+                expected += calendar.isWorkingDay(d) ? 1 : 0;
+            }
+            assertEquals(start <= end ? expected : -expected, calendar.workingDaysBetween(start, end));
+
+            int amount = random.nextInt(300) - 150;
+            assertEquals(addByLoop(calendar, start, amount), calendar.addWorkingDays(start, amount), start + " " + amount);
+        }
+        assertFalse(calendar.isWorkingDay(day("2019-01-05")));
+        assertTrue(calendar.isWorkingDay(day("2022-01-04")));
+    }
+}
@@ -0,0 +1,129 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachedClockTest {
+
+    @Test
+    void followsManualClockAcrossBoundaries() throws Exception {
+        SimpleDateFormat ymd = new SimpleDateFormat(DateUtil.DATE_FORMAT_YMD);
+        SimpleDateFormat full = new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL);
+        ManualClock clock = new ManualClock(full.parse("2021-03-07 23:59:58").getTime());
+        CachedClock cached = new CachedClock(clock);
+
+        assertEquals("2021-03-07", cached.today());
+        assertEquals("2021-03-06", cached.yesterday());
+        assertEquals("2021-03-01", cached.monday());
+        assertEquals("2021-03-07", cached.sunday());
+        assertEquals("2021-02-28", cached.lastSunday());
+        assertEquals("2021-03-07 23:59:58", cached.now());
+        assertEquals(23, cached.hourOfDay());
+        assertEquals(59, cached.minuteOfHour());
+
+        String now = cached.now();
+        clock.millis += 999;
+        assertSame(now, cached.now());
+
+        clock.millis += 1001;
+        assertEquals("2021-03-08", cached.today());
+        assertEquals("2021-03-08", cached.monday());
+        assertEquals("2021-03-14", cached.sunday());
+        assertEquals("2021-03-07", cached.lastSunday());
+        assertEquals(0, cached.hourOfDay());
+        assertEquals(ymd.parse("2021-03-08").getTime(), cached.todayStart());
+
+        // 开始后台刷新时立即刷新一次，不必等第一个周期
+        clock.millis += CalendarMath.MILLIS_PER_DAY;
+        cached.startTicking(CalendarMath.MILLIS_PER_HOUR);
+        try {
+            assertEquals("2021-03-09", cached.today());
+            assertEquals("2021-03-09 00:00:00", cached.now());
+        } finally {
+            cached.stopTicking();
+        }
+    }
+
+    @Test
+    void dateUtilHelpersReadTheCachedClock() throws Exception {
+        SimpleDateFormat ymd = new SimpleDateFormat(DateUtil.DATE_FORMAT_YMD);
+        long millis = ymd.parse("2020-02-05").getTime() + 10 * CalendarMath.MILLIS_PER_HOUR;
+        DateUtil.enableCachedClock(new CachedClock(new ManualClock(millis)));
+        try {
+            assertEquals("2020-02-05", DateUtil.getTodayDate());
+            assertEquals("2020-02-04", DateUtil.yestodayDate());
+            assertEquals("2020-02-03", DateUtil.getMonday());
+            assertEquals("2020-02-09", DateUtil.getWeekend());
+            assertEquals("2020-02-02", DateUtil.getLastWeekDate());
+            assertEquals("2020-02-05 10:00:00", DateUtil.getCurrentTime(null));
+            assertEquals(10, DateUtil.getHourOfDay());
+            assertEquals(0, DateUtil.getMinuteOfHour());
+        } finally {
+            DateUtil.disableCachedClock();
+        }
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setFirstDayOfWeek(Calendar.MONDAY);
+        calendar.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
+        assertEquals(ymd.format(calendar.getTime()), DateUtil.getWeekend());
+    }
+
+    @Test
+    void followsTheDefaultTimeZoneFromTheNextSecond() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            ManualClock clock = new ManualClock(0);
+            CachedClock cached = new CachedClock(clock);
+            assertEquals("1970-01-01 08:00:00", cached.now());
+            assertEquals("1970-01-01", cached.today());
+            assertEquals(-8 * CalendarMath.MILLIS_PER_HOUR, cached.todayStart());
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            clock.millis += 1000;
+            assertEquals("1969-12-31 19:00:01", cached.now());
+            assertEquals("1969-12-31", cached.today());
+            assertEquals(19, cached.hourOfDay());
+            assertEquals(-19 * CalendarMath.MILLIS_PER_HOUR, cached.todayStart());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static final class ManualClock extends Clock {
+        private long millis;
+
+        private ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
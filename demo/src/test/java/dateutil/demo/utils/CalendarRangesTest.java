@@ -0,0 +1,90 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalendarRangesTest {
+
+    private static long at(String full) {
+        return DateUtil.formatStringToDate(full, DateUtil.DATE_FORMAT_FULL).getTime();
+    }
+
+    @Test
+    void enumeratesCalendarUnits() throws Exception {
+        long from = at("2020-11-30 22:30:00");
+        long to = at("2021-02-03 01:00:00");
+
+        assertEquals(DateUtil.getMonthListBetween("2020-11", "2021-02"),
+                CalendarRanges.monthStrings(from, to).collect(Collectors.toList()));
+        assertEquals(66, CalendarRanges.days(from, to).count());
+        assertEquals("2020-11-30", CalendarRanges.dayStrings(from, to).findFirst().get());
+        assertArrayEquals(new long[]{at("2020-10-01 00:00:00"), at("2021-01-01 00:00:00")},
+                CalendarRanges.quarterStarts(from, to).toArray());
+        assertEquals(at("2020-11-30 00:00:00"), CalendarRanges.weekStarts(from, to).min().getAsLong());
+        assertEquals(at("2021-02-01 00:00:00"), CalendarRanges.weekStarts(from, to).max().getAsLong());
+        assertArrayEquals(new long[]{at("2020-11-30 22:00:00"), at("2020-11-30 23:00:00")},
+                CalendarRanges.hours(from, at("2020-11-30 23:59:59")).toArray());
+        assertEquals(0, CalendarRanges.days(to, from).count());
+    }
+
+    @Test
+    void parallelStreamMatchesSequential() {
+        long from = at("2000-01-01 00:00:00");
+        long to = at("2030-12-31 00:00:00");
+        String[] sequential = CalendarRanges.dayStrings(from, to).toArray(String[]::new);
+        String[] parallel = CalendarRanges.dayStrings(from, to).parallel().toArray(String[]::new);
+        assertArrayEquals(sequential, parallel);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(from);
+        long[] expected = new long[sequential.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = calendar.getTimeInMillis();
+            calendar.add(Calendar.DATE, 1);
+        }
+        assertArrayEquals(expected, CalendarRanges.dayStarts(from, to).parallel().toArray());
+        assertEquals(31 * 12, CalendarRanges.monthStarts(from, to).parallel().count());
+        assertEquals(Arrays.stream(sequential).filter(s -> s.endsWith("-01")).count(),
+                CalendarRanges.monthStarts(from, to).count());
+    }
+
+    @Test
+    void hoursStepInLocalTimeAcrossDaylightSavingChanges() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            // 02:00 跳到 02:30，之后的整点在 UTC 上落在整点而不是半点
+            TimeZone.setDefault(TimeZone.getTimeZone("Australia/Lord_Howe"));
+            assertEquals(Arrays.asList("2021-10-03 00:00", "2021-10-03 01:00", "2021-10-03 02:30", "2021-10-03 03:00",
+                            "2021-10-03 04:00"),
+                    localHours("2021-10-02T13:30:00Z", "2021-10-02T17:00:00Z"));
+            // 02:00 回到 01:30，重复的半小时不产生新的整点
+            assertEquals(Arrays.asList("2022-04-03 01:00", "2022-04-03 02:00", "2022-04-03 03:00"),
+                    localHours("2022-04-02T14:00:00Z", "2022-04-02T16:30:00Z"));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals(Arrays.asList("2021-03-14 00:00", "2021-03-14 01:00", "2021-03-14 03:00", "2021-03-14 04:00"),
+                    localHours("2021-03-14T05:00:00Z", "2021-03-14T08:00:00Z"));
+            assertArrayEquals(new long[]{Instant.parse("2021-11-07T04:00:00Z").toEpochMilli(),
+                            Instant.parse("2021-11-07T06:00:00Z").toEpochMilli(),
+                            Instant.parse("2021-11-07T07:00:00Z").toEpochMilli()},
+                    CalendarRanges.hours(Instant.parse("2021-11-07T04:00:00Z").toEpochMilli(),
+                            Instant.parse("2021-11-07T07:00:00Z").toEpochMilli()).toArray());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static List<String> localHours(String from, String to) {
+        return CalendarRanges.format(CalendarRanges.hours(Instant.parse(from).toEpochMilli(), Instant.parse(to).toEpochMilli()),
+                "yyyy-MM-dd HH:mm").collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.common.DateRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalendarTableTest {
+
+    @Test
+    void matchesCalendarForEveryDay() {
+        CalendarTable table = CalendarTable.of(1900, 2100);
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setFirstDayOfWeek(Calendar.MONDAY);
+        calendar.setMinimalDaysInFirstWeek(7);
+        int first = (int) CalendarMath.daysFromCivil(1900, 1, 1);
+        int last = (int) CalendarMath.daysFromCivil(2100, 12, 31);
+        for (int day = first; day <= last; day++) {
+            calendar.setTimeInMillis(day * CalendarMath.MILLIS_PER_DAY);
+            assertEquals(calendar.get(Calendar.YEAR), table.year(day), "year " + day);
+            assertEquals(calendar.get(Calendar.MONTH) / 3 + 1, table.quarter(day), "quarter " + day);
+            assertEquals(calendar.getWeekYear(), table.weekYear(day), "weekYear " + day);
+            assertEquals(calendar.get(Calendar.WEEK_OF_YEAR), table.weekOfWeekYear(day), "week " + day);
+        }
+    }
+
+    @Test
+    void lastQuarterOnBothSidesOfTheTable() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate[] edges = {LocalDate.of(1900, 1, 1), LocalDate.of(2100, 12, 31)};
+        for (LocalDate edge : edges) {
+            for (int offset = -400; offset <= 400; offset++) {
+                LocalDate date = edge.plusDays(offset);
+                LocalDate quarterStart = date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+                long expectedStart = quarterStart.minusMonths(3).atStartOfDay(zone).toInstant().toEpochMilli();
+                long expectedEnd = quarterStart.atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+
+                long noon = date.atTime(12, 30).atZone(zone).toInstant().toEpochMilli();
+                DateRange range = DateUtil.getLastQuarter(new Date(noon));
+                assertEquals(expectedStart, range.getStart().getTime(), date.toString());
+                assertEquals(expectedEnd, range.getEnd().getTime(), date.toString());
+            }
+        }
+    }
+}
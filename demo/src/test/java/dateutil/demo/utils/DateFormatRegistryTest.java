@@ -0,0 +1,31 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DateFormatRegistryTest {
+
+    @Test
+    void followsTheDefaultTimeZone() throws Exception {
+        String pattern = "yyyy/MM/dd HH:mm";
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            assertSame(DateFormatRegistry.get(pattern), DateFormatRegistry.get(pattern));
+            assertEquals("1970/01/01 08:00", DateUtil.formatDateToString(new Date(0), pattern));
+            assertEquals(0L, DateUtil.tryParse("1970/01/01 08:00", pattern));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals("1969/12/31 19:00", DateUtil.formatDateToString(new Date(0), pattern));
+            assertEquals(0L, DateFormatRegistry.get(pattern).parse("1969/12/31 19:00").getTime());
+            assertEquals(TimeZone.getTimeZone("America/New_York"), DateFormatRegistry.get(pattern).getTimeZone());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+}
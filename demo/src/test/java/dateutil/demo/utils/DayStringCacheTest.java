@@ -0,0 +1,52 @@
+package dateutil.demo.utils;
+
+import org.joda.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayStringCacheTest {
+
+    @Test
+    void cachedHelpersReturnSameValues() {
+        LocalDate date = new LocalDate(2020, 3, 31);
+        List<String> before = DateUtil.getBefore7Dates(date);
+        List<String> lastWeek = DateUtil.lastWeekDates(date);
+        List<String> lastMonth = DateUtil.lastMonthDates(date);
+        Date now = new Date(1585638000000L);
+        String ymd = DateUtil.Date2StringFormat_yyyy_MM_dd(now);
+
+        DayStringCache cache = new DayStringCache(1024);
+        DateUtil.enableDayStringCache(cache);
+        try {
+            assertEquals(before, DateUtil.getBefore7Dates(date));
+            assertEquals(lastWeek, DateUtil.lastWeekDates(date));
+            assertEquals(lastMonth, DateUtil.lastMonthDates(date));
+            assertEquals(ymd, DateUtil.getDateString(now));
+            assertSame(DateUtil.getDateString(now), DateUtil.Date2StringFormat_yyyy_MM_dd(now));
+            assertEquals("2020-03-23", DateUtil.lastWeekDate("2020-03-30"));
+            assertTrue(cache.hitCount() > 0);
+        } finally {
+            DateUtil.disableDayStringCache();
+        }
+        assertEquals("[2020-03-30, 2020-03-29, 2020-03-28, 2020-03-27, 2020-03-26, 2020-03-25, 2020-03-24]", before.toString());
+        assertEquals("[2020-02-29, 2020-02-28, 2020-02-27, 2020-02-26, 2020-02-25, 2020-02-24]", lastMonth.toString());
+    }
+
+    @Test
+    void boundedCapacityEvicts() {
+        DayStringCache cache = new DayStringCache(16);
+        for (int day = 18000; day < 18100; day++) {
+            assertEquals(FixedDateFormatter.format(ZoneOffsetCache.getDefault().startOfEpochDay(day), DateUtil.DATE_FORMAT_YMD),
+                    cache.format(day, DateUtil.DATE_FORMAT_YMD));
+        }
+        assertEquals(16, cache.capacity());
+        assertEquals(100, cache.missCount());
+        assertTrue(cache.evictionCount() >= 84);
+    }
+}
@@ -0,0 +1,94 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EpochDateUtilTest {
+
+    private static final String[] ZONES = {
+            "UTC", "America/New_York", "Europe/London", "Asia/Shanghai", "Australia/Lord_Howe", "America/Sao_Paulo"};
+    private static final int[] FIELDS = {
+            Calendar.MILLISECOND, Calendar.SECOND, Calendar.MINUTE, Calendar.HOUR_OF_DAY, Calendar.DAY_OF_MONTH,
+            Calendar.DAY_OF_YEAR, Calendar.WEEK_OF_YEAR, Calendar.MONTH, Calendar.YEAR};
+
+    @Test
+    void addMatchesGregorianCalendarInSeveralZones() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            for (String zone : ZONES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                compareWithCalendar(zone);
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    /**
+     * 纯格里高利历，与 CalendarMath 一样不切换到儒略历
+     */
+    private static GregorianCalendar proleptic() {
+        GregorianCalendar calendar = new GregorianCalendar();
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        return calendar;
+    }
+
+    private static void compareWithCalendar(String zone) {
+        GregorianCalendar calendar = proleptic();
+        List<Long> transitions = new ArrayList<>();
+        ZoneOffsetTransition transition = ZoneId.of(zone).getRules().nextTransition(Instant.parse("1970-01-01T00:00:00Z"));
+        while (transition != null && transition.toEpochSecond() < 4102444800L) {
+            transitions.add(transition.toEpochSecond() * 1000);
+            transition = ZoneId.of(zone).getRules().nextTransition(transition.getInstant());
+        }
+        Random random = new Random(17);
+        for (int i = 0; i < 50000; i++) {
+            long millis;
+            if (i % 2 == 0 && !transitions.isEmpty()) {
+                // 跳变前后几天内、按半小时对齐，加减天数时容易落进夏令时空档或重叠区间
+                long at = transitions.get(random.nextInt(transitions.size()));
+                millis = at + (random.nextInt(289) - 144) * 30 * CalendarMath.MILLIS_PER_MINUTE;
+            } else {
+                millis = -2208988800000L + (long) (random.nextDouble() * 200 * 365 * CalendarMath.MILLIS_PER_DAY);
+            }
+            int field = FIELDS[random.nextInt(FIELDS.length)];
+            int amount = random.nextInt(i % 3 == 0 ? 2000 : 30) - (i % 3 == 0 ? 1000 : 15);
+            check(calendar, millis, field, amount, zone);
+        }
+
+        // 月末截断与闰日
+        long[] edges = {at(2020, 1, 31, 10), at(2020, 2, 29, 23), at(2021, 3, 31, 0), at(2019, 12, 31, 12)};
+        for (long edge : edges) {
+            for (int amount = -25; amount <= 25; amount++) {
+                check(calendar, edge, Calendar.MONTH, amount, zone);
+                check(calendar, edge, Calendar.YEAR, amount, zone);
+            }
+        }
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        GregorianCalendar calendar = proleptic();
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static void check(GregorianCalendar calendar, long millis, int field, int amount, String zone) {
+        calendar.setTimeInMillis(millis);
+        calendar.add(field, amount);
+        assertEquals(calendar.getTimeInMillis(), EpochDateUtil.add(millis, field, amount),
+                zone + " " + millis + " field " + field + " amount " + amount);
+    }
+}
@@ -0,0 +1,58 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FixedDateFormatterTest {
+
+    private static final String[] PATTERNS = {
+            DateUtil.DATE_FORMAT_FULL,
+            DateUtil.DATE_FORMAT_YMD,
+            DateUtil.DATE_FORMAT_YM,
+            DateUtil.DATE_FORMAT_Y,
+            DateUtil.DATE_FORMAT_HMS,
+            DateUtil.DATE_FORMAT_HM,
+            DateUtil.DATE_FORMAT_YMDHM,
+            DateUtil.DATE_FORMAT_YMDHMS,
+            DateUtil.DATE_TIME_yyyyMMdd,
+            DateUtil.DATE_TIME_yyyyMM
+    };
+
+    @Test
+    void matchesSimpleDateFormat() {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        char[] chars = new char[32];
+        ByteBuffer bytes = ByteBuffer.allocate(32);
+        for (String pattern : PATTERNS) {
+            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+            for (int i = 0; i < 20000; i++) {
+                long millis = -2208988800000L + (long) (random.nextDouble() * 6.3e12);
+                String expected = sdf.format(millis);
+
+                sb.setLength(0);
+                assertEquals(expected.length(), FixedDateFormatter.format(millis, pattern, sb));
+                assertEquals(expected, sb.toString());
+
+                int n = FixedDateFormatter.format(millis, pattern, chars, 3);
+                assertEquals(expected, new String(chars, 3, n));
+
+                n = FixedDateFormatter.format(millis, pattern, bytes, 5);
+                assertEquals(expected, new String(bytes.array(), 5, n, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    void outOfRangeYearsUseGenericFormat() {
+        long millis = -30000000000000L;
+        assertEquals(new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL).format(millis),
+                FixedDateFormatter.format(millis, DateUtil.DATE_FORMAT_FULL));
+    }
+}
@@ -0,0 +1,137 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixedDateParserTest {
+
+    private static final String[] PATTERNS = {
+            DateUtil.DATE_FORMAT_YMD,
+            DateUtil.DATE_TIME_yyyyMMdd,
+            DateUtil.DATE_FORMAT_YMDHMS,
+            DateUtil.DATE_FORMAT_FULL,
+            DateUtil.DATE_FORMAT_YMDHM
+    };
+
+    @Test
+    void matchesSimpleDateFormat() throws Exception {
+        Random random = new Random(42);
+        for (String pattern : PATTERNS) {
+            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+            for (int i = 0; i < 20000; i++) {
+                long millis = -2208988800000L + (long) (random.nextDouble() * 6.3e12);
+                String text = sdf.format(millis);
+                assertEquals(sdf.parse(text).getTime(), FixedDateParser.parse(text, pattern), text);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNonStrictInput() {
+        String[] inputs = {"2020-1-5", "2020-13-01", "2019-02-29", "2020-01-32", "2020/01/01", "2020-01-01x", "", "abcd-ef-gh"};
+        for (String input : inputs) {
+            assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(input, DateUtil.DATE_FORMAT_YMD), input);
+        }
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2020-01-01 24:00:00", DateUtil.DATE_FORMAT_FULL));
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2020-01-01", DateUtil.DATE_FORMAT_YM));
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(null, DateUtil.DATE_FORMAT_YMD));
+    }
+
+    @Test
+    void lenientInputFallsBackToPatternParsing() {
+        assertEquals(DateUtil.formatStringToDate("2020-01-05", DateUtil.DATE_FORMAT_YMD),
+                DateUtil.formatStringToDate("2020-1-5", DateUtil.DATE_FORMAT_YMD));
+        assertEquals(31, DateUtil.getDaysBetween("2020-01-01", "2020-02-01"));
+    }
+
+    @Test
+    void tryParseReportsFailuresWithoutThrowing() {
+        long failures = DateUtil.getParseFailureCount();
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse("not a date", DateUtil.DATE_FORMAT_YMD));
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(null, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(failures + 2, DateUtil.getParseFailureCount());
+
+        // 缺失或非法的 pattern 也只是解析失败
+        DateUtilMetrics metrics = new DateUtilMetrics();
+        DateUtil.enableMetrics(metrics);
+        try {
+            assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse("2020-01-05", null));
+            assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse("2020-01-05", "yyyy-MM-dd bb"));
+            byte[] bytes = "2020-01-05".getBytes(StandardCharsets.US_ASCII);
+            assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(bytes, 0, bytes.length, null));
+        } finally {
+            DateUtil.disableMetrics();
+        }
+        assertEquals(failures + 5, DateUtil.getParseFailureCount());
+        assertEquals(2, metrics.parseFailureCount("other"));
+        assertEquals(1, metrics.parseFailureCount("yyyy-MM-dd bb"));
+
+        ParseResult result = new ParseResult();
+        assertTrue(DateUtil.tryParse("2020-1-5", DateUtil.DATE_FORMAT_YMD, result));
+        assertEquals(DateUtil.formatStringToDate("2020-01-05", DateUtil.DATE_FORMAT_YMD), result.toDate());
+        assertFalse(DateUtil.tryParse("2020-01-05", DateUtil.DATE_FORMAT_FULL, result));
+        assertNull(result.toDate());
+    }
+
+    @Test
+    void parsesAsciiBytesAtOffset() {
+        byte[] payload = "{\"ts\":\"2021-06-01 08:30:15\",\"at\":\"2012-05-25T14:59:38.237-07:00\"}"
+                .getBytes(StandardCharsets.US_ASCII);
+        long full = DateUtil.formatStringToDate("2021-06-01 08:30:15", DateUtil.DATE_FORMAT_FULL).getTime();
+        assertEquals(full, DateUtil.tryParse(payload, 7, 19, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(DateUtil.parseISOFormatToDate("2012-05-25T14:59:38.237-07:00").getTime(),
+                DateUtil.tryParse(payload, 34, 29, DateUtil.DATE_FORMAT_ISO8601));
+        assertEquals(1338055200000L, FixedDateParser.parseIso8601("2012-05-26T18:00:00+0000"));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(payload.length);
+        direct.put(payload).flip();
+        assertEquals(full, DateUtil.tryParse(direct, 7, 19, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(0, direct.position());
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(direct, 0, 19, DateUtil.DATE_FORMAT_FULL));
+    }
+
+    @Test
+    void isoPatternAcceptsTheSameInputsAsTheFormatter() {
+        String[] inputs = {"2012-05-25T14:59:38.237-07:00", "2012-05-25T14:59:38.237Z", "2012-05-25T14:59:38.237+08:00",
+                "2012-05-25T14:59:38Z", "2012-05-25T14:59:38-07:00", "2012-05-25T14:59:38.2Z", "2012-05-25T14:59:38.2371Z",
+                "2012-05-25T14:59:38.237+08", "2012-05-25T14:59:38.237+0800", "2012-05-25T14:59:38.237",
+                "2012-05-25T14:59:38.2a7Z", "2012-05-25 14:59:38.237Z"};
+        for (String input : inputs) {
+            long expected;
+            try {
+                expected = DateFormatRegistry.get(DateUtil.DATE_FORMAT_ISO8601).parse(input).getTime();
+            } catch (ParseException e) {
+                expected = DateUtil.PARSE_FAILED;
+            }
+            assertEquals(expected, DateUtil.tryParse(input, DateUtil.DATE_FORMAT_ISO8601), input);
+            long fast = FixedDateParser.parse(input, DateUtil.DATE_FORMAT_ISO8601);
+            assertTrue(fast == FixedDateParser.INVALID || fast == expected, input);
+        }
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse("2012-05-25T14:59:38Z", DateUtil.DATE_FORMAT_ISO8601));
+    }
+
+    @Test
+    void outOfBoundsSlicesAreParseFailures() {
+        byte[] bytes = "2021-06-01 08:30:15".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(bytes, 5, 19, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parse(bytes, -1, 19, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(FixedDateParser.INVALID, FixedDateParser.parseIso8601(bytes, 0, 64));
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(bytes, 5, 19, DateUtil.DATE_FORMAT_FULL));
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(bytes, 0, -3, DateUtil.DATE_FORMAT_YMD));
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(bytes, Integer.MAX_VALUE, 2, DateUtil.DATE_FORMAT_YMD));
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(ByteBuffer.wrap(bytes), 1, 19, DateUtil.DATE_FORMAT_FULL));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(DateUtil.PARSE_FAILED, DateUtil.tryParse(direct, 10, 19, "yyyy-MM-dd HH:mm:ss.SSS"));
+    }
+}
@@ -0,0 +1,87 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.common.TimeInterval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(42);
+        for (int n : new int[]{1, 2, 7, 16, 33, 100, 1000, 5000}) {
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(100_000);
+                ends[i] = starts[i] + random.nextInt(i % 10 == 0 ? 20_000 : 500);
+            }
+            IntervalIndex index = IntervalIndex.build(starts, ends);
+            int[] out = new int[n];
+            for (int q = 0; q < 500; q++) {
+                long from = random.nextInt(110_000) - 5_000;
+                long to = from + (q % 2 == 0 ? 0 : random.nextInt(1_000));
+                int[] expected = Arrays.stream(indices(n)).filter(i -> starts[i] <= to && ends[i] >= from).toArray();
+
+                assertEquals(expected.length, index.countOverlapping(from, to));
+                int written = index.overlapping(from, to, out);
+                int[] actual = Arrays.copyOf(out, written);
+                Arrays.sort(actual);
+                assertArrayEquals(expected, actual);
+                if (from == to) {
+                    assertEquals(expected.length, index.countContaining(from));
+                    assertEquals(expected.length > 0, index.anyContaining(from));
+                }
+            }
+        }
+    }
+
+    @Test
+    void boundsAreInclusiveAndOutputIsCapped() {
+        List<TimeInterval> intervals = new ArrayList<>();
+        intervals.add(TimeInterval.of(100, 199));
+        intervals.add(TimeInterval.of(200, 299));
+        intervals.add(TimeInterval.of(150, 250));
+        IntervalIndex index = IntervalIndex.ofIntervals(intervals);
+
+        assertEquals(2, index.countContaining(200));
+        assertEquals(1, index.countContaining(100));
+        assertEquals(0, index.countContaining(300));
+        assertFalse(index.anyContaining(99));
+        assertEquals(1, index.containing(180, new int[1]));
+
+        int[] seen = new int[3];
+        index.forEachOverlapping(0, 1000, id -> seen[id]++);
+        assertArrayEquals(new int[]{1, 1, 1}, seen);
+    }
+
+    @Test
+    void holderSwapsSnapshots() {
+        IntervalIndex.Holder holder = new IntervalIndex.Holder();
+        assertEquals(0, holder.get().countContaining(5));
+
+        IntervalIndex next = IntervalIndex.build(new long[]{0}, new long[]{10});
+        IntervalIndex old = holder.swap(next);
+        assertEquals(0, old.size());
+        assertSame(next, holder.get());
+        assertTrue(holder.get().anyContaining(5));
+    }
+
+    private static int[] indices(int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+}
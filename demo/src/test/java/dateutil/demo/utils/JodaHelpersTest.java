@@ -0,0 +1,66 @@
+package dateutil.demo.utils;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.Hours;
+import org.joda.time.Minutes;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JodaHelpersTest {
+
+    @Test
+    void durationHelpersMatchJoda() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        DateTimeZone defaultJodaZone = DateTimeZone.getDefault();
+        String[] zones = {"UTC", "America/New_York", "Asia/Shanghai", "Australia/Lord_Howe"};
+        try {
+            for (String zone : zones) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                DateTimeZone.setDefault(DateTimeZone.forID(zone));
+                compareWithJoda(zone);
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+            DateTimeZone.setDefault(defaultJodaZone);
+        }
+    }
+
+    private static void compareWithJoda(String zone) {
+        Random random = new Random(7);
+        long base = 946656000000L;
+        for (int i = 0; i < 20000; i++) {
+            long start = base + (long) (random.nextDouble() * 30 * 365 * CalendarMath.MILLIS_PER_DAY);
+            // 一半落在 3 天内，覆盖不足一天、跨日和跨夏令时切换的情况
+            long span = i % 2 == 0 ? 3 * CalendarMath.MILLIS_PER_DAY : 2000 * CalendarMath.MILLIS_PER_DAY;
+            long end = start + (long) ((random.nextDouble() - 0.5) * span);
+            DateTime s = new DateTime(start);
+            DateTime e = new DateTime(end);
+            String message = zone + " " + start + " " + end;
+            assertEquals(Math.abs(Days.daysBetween(e, s).getDays()), DateUtil.getDaysBetweenV2(new Date(end), new Date(start)), message);
+            assertEquals(Math.abs(Hours.hoursBetween(e, s).getHours()), DateUtil.getHoursBetweenDays(end, start), message);
+            assertEquals(Math.abs(Minutes.minutesBetween(e, s).getMinutes()), DateUtil.getMinutesBetweenDays(end, start), message);
+        }
+    }
+
+    @Test
+    void cachedZoneAndParserMatchPerCallInstances() {
+        long millis = 1617206400123L;
+        assertEquals(new DateTime(millis, DateTimeZone.forTimeZone(TimeZone.getTimeZone("GMT+8"))), DateUtil.utc2DateTime(millis));
+        String iso = "2012-05-25T14:59:38.237-07:00";
+        String noMillis = "2012-05-25T14:59:38Z";
+        assertEquals(ISODateTimeFormat.dateTime().parseDateTime(iso).toDate(), DateUtil.parseISOFormatToDate(iso));
+        assertEquals(ISODateTimeFormat.dateTime().parseDateTime("2012-05-25T14:59:38.000Z").toDate(),
+                DateUtil.parseISOFormatToDate("2012-05-25T14:59:38.000Z"));
+        // dateTime() 要求带毫秒
+        assertThrows(IllegalArgumentException.class, () -> DateUtil.parseISOFormatToDate(noMillis));
+    }
+}
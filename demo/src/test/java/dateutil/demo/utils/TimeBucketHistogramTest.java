@@ -0,0 +1,187 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.enums.TimeExtentEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeBucketHistogramTest {
+
+    private static long at(String full) {
+        return DateUtil.formatStringToDate(full, DateUtil.DATE_FORMAT_FULL).getTime();
+    }
+
+    @Test
+    void bucketsByCalendarUnit() {
+        ManualClock clock = new ManualClock(at("2021-02-28 13:00:00"));
+        TimeBucketHistogram months = new TimeBucketHistogram(TimeBucketHistogram.Unit.MONTH, 12, clock);
+        months.record(at("2021-01-31 23:59:59"));
+        months.record(at("2021-02-01 00:00:00"));
+        months.record(at("2021-02-28 12:00:00"));
+        TimeBucketHistogram.Snapshot snapshot = months.snapshot();
+        assertArrayEquals(new long[]{at("2021-01-01 00:00:00"), at("2021-02-01 00:00:00")}, snapshot.getStarts());
+        assertArrayEquals(new long[]{1, 2}, snapshot.getCounts());
+        // 远近按直方图的时钟（2021-02-28 13:00）划分，阈值严格大于才归入该档
+        assertEquals(2, snapshot.getExtentCount(TimeExtentEnum.ONE_MONTH));
+        assertEquals(1, snapshot.getExtentCount(TimeExtentEnum.ONE_DAY));
+        assertEquals(3, sumExtents(snapshot));
+
+        clock.millis = at("2021-03-10 00:00:00");
+        TimeBucketHistogram weeks = new TimeBucketHistogram(TimeBucketHistogram.Unit.WEEK, 4, clock);
+        weeks.recordBucket(at("2021-03-07 23:00:00"));
+        weeks.recordBucket(at("2021-03-08 01:00:00"));
+        assertEquals(1, weeks.snapshot().getCount(at("2021-03-01 00:00:00")));
+        assertEquals(1, weeks.snapshot().getCount(at("2021-03-08 00:00:00")));
+    }
+
+    @Test
+    void rollsWindowForward() {
+        long base = at("2021-06-01 10:15:00");
+        ManualClock clock = new ManualClock(base);
+        TimeBucketHistogram hours = new TimeBucketHistogram(TimeBucketHistogram.Unit.HOUR, 3, clock);
+        for (int h = 0; h < 5; h++) {
+            clock.millis = base + h * CalendarMath.MILLIS_PER_HOUR;
+            hours.recordBucket(clock.millis);
+        }
+        hours.recordBucket(base);
+        TimeBucketHistogram.Snapshot snapshot = hours.snapshot();
+        assertArrayEquals(new long[]{at("2021-06-01 12:00:00"), at("2021-06-01 13:00:00"), at("2021-06-01 14:00:00")},
+                snapshot.getStarts());
+        assertEquals(3, snapshot.total());
+        assertEquals(1, snapshot.getDropped());
+    }
+
+    @Test
+    void futureEventsDoNotMoveTheWindow() {
+        long now = at("2021-06-01 10:15:00");
+        ManualClock clock = new ManualClock(now);
+        TimeBucketHistogram days = new TimeBucketHistogram(TimeBucketHistogram.Unit.DAY, 7, clock);
+        for (int i = 0; i < 10; i++) {
+            days.record(now - i * CalendarMath.MILLIS_PER_HOUR);
+        }
+        assertEquals(10, days.snapshot().total());
+
+        days.record(now + 365 * CalendarMath.MILLIS_PER_DAY);
+        for (int i = 0; i < 10; i++) {
+            days.record(now - i * CalendarMath.MILLIS_PER_HOUR);
+        }
+        // 下一个桶容许时钟偏差，再往后的算作 dropped
+        days.record(at("2021-06-02 08:00:00"));
+        days.record(at("2021-06-03 00:00:00"));
+        TimeBucketHistogram.Snapshot snapshot = days.snapshot();
+        assertEquals(21, snapshot.total());
+        assertEquals(2, snapshot.getDropped());
+        assertEquals(1, snapshot.getCount(at("2021-06-02 00:00:00")));
+        assertEquals(21, sumExtents(snapshot));
+    }
+
+    @Test
+    void extentsFollowTheHistogramClock() {
+        long now = at("2001-06-15 12:00:00");
+        TimeBucketHistogram months = new TimeBucketHistogram(TimeBucketHistogram.Unit.MONTH, 24, new ManualClock(now));
+        months.record(now - 10 * CalendarMath.MILLIS_PER_MINUTE);
+        months.record(at("2001-06-15 07:00:00"));
+        months.record(at("2001-06-12 12:00:00"));
+        months.record(at("2001-05-25 12:00:00"));
+        months.record(at("2001-04-15 12:00:00"));
+        months.record(at("2000-11-15 12:00:00"));
+        months.record(at("2000-05-15 12:00:00"));
+        TimeBucketHistogram.Snapshot snapshot = months.snapshot();
+        for (TimeExtentEnum extent : TimeExtentEnum.values()) {
+            assertEquals(1, snapshot.getExtentCount(extent), extent.name());
+        }
+    }
+
+    @Test
+    void extentCountsRollWithTheWindow() {
+        long now = at("2021-06-01 10:15:00");
+        ManualClock clock = new ManualClock(now);
+        TimeBucketHistogram hours = new TimeBucketHistogram(TimeBucketHistogram.Unit.HOUR, 2, clock);
+        hours.record(now);
+        hours.record(now - CalendarMath.MILLIS_PER_HOUR);
+        assertEquals(2, sumExtents(hours.snapshot()));
+
+        clock.millis = now + CalendarMath.MILLIS_PER_HOUR;
+        TimeBucketHistogram.Snapshot snapshot = hours.snapshot();
+        assertEquals(1, snapshot.total());
+        assertEquals(1, sumExtents(snapshot));
+
+        clock.millis = now + 3 * CalendarMath.MILLIS_PER_HOUR;
+        snapshot = hours.snapshot();
+        assertEquals(0, snapshot.getStarts().length);
+        assertEquals(0, sumExtents(snapshot));
+    }
+
+    @Test
+    void concurrentWritersAreNotLost() throws Exception {
+        long base = at("2021-06-01 00:00:00");
+        TimeBucketHistogram days = new TimeBucketHistogram(TimeBucketHistogram.Unit.DAY, 8,
+                new ManualClock(base + 6 * CalendarMath.MILLIS_PER_DAY));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 70_000; i++) {
+                        days.recordBucket(base + (i % 7) * CalendarMath.MILLIS_PER_DAY + i % 1000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        TimeBucketHistogram.Snapshot snapshot = days.snapshot();
+        assertEquals(7, snapshot.getStarts().length);
+        assertEquals(8 * 70_000, snapshot.total());
+        assertEquals(8 * 10_000, snapshot.getCount(base));
+    }
+
+    private static long sumExtents(TimeBucketHistogram.Snapshot snapshot) {
+        long total = 0;
+        for (long count : snapshot.getExtentCounts()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static final class ManualClock extends Clock {
+        private long millis;
+
+        private ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
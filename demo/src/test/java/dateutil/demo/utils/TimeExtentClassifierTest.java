@@ -0,0 +1,67 @@
+package dateutil.demo.utils;
+
+import dateutil.demo.enums.TimeExtentEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeExtentClassifierTest {
+
+    private static long at(String full) {
+        return DateUtil.formatStringToDate(full, DateUtil.DATE_FORMAT_FULL).getTime();
+    }
+
+    @Test
+    void thresholdsAreExclusive() {
+        long now = at("2021-03-31 10:00:00");
+        TimeExtentClassifier classifier = TimeExtentClassifier.at(now);
+
+        assertEquals(TimeExtentEnum.ONE_HOUR, classifier.classify(now));
+        assertEquals(TimeExtentEnum.ONE_DAY, classifier.classify(at("2021-03-31 09:00:00")));
+        assertEquals(TimeExtentEnum.ONE_WEEK, classifier.classify(at("2021-03-30 10:00:00")));
+        assertEquals(TimeExtentEnum.ONE_MONTH, classifier.classify(at("2021-03-24 10:00:00")));
+        // 3 月 31 日减一个月为 2 月 28 日
+        assertEquals(TimeExtentEnum.ONE_MONTH, classifier.classify(at("2021-02-28 10:00:01")));
+        assertEquals(TimeExtentEnum.ONE_MONTH_AGO, classifier.classify(at("2021-02-28 10:00:00")));
+        assertEquals(TimeExtentEnum.HALF_YEAR_AGO, classifier.classify(at("2020-09-30 10:00:00")));
+        assertEquals(TimeExtentEnum.ONE_YEAR_AGO, classifier.classify(at("2020-03-31 10:00:00")));
+        assertEquals(TimeExtentEnum.ONE_YEAR_AGO, classifier.classify((Date) null));
+    }
+
+    @Test
+    void bulkMatchesCalendarThresholds() {
+        long now = at("2020-03-08 01:30:00");
+        TimeExtentClassifier classifier = TimeExtentClassifier.at(now);
+        long[] millis = new long[2000];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = now - (long) i * i * 997_331L;
+        }
+        byte[] ordinals = new byte[millis.length];
+        classifier.classifyAll(millis, ordinals);
+
+        int[][] steps = {{Calendar.HOUR, 1}, {Calendar.DATE, 1}, {Calendar.DATE, 7},
+                {Calendar.MONTH, 1}, {Calendar.MONTH, 6}, {Calendar.MONTH, 12}};
+        for (int i = 0; i < millis.length; i++) {
+            int expected = steps.length;
+            for (int s = steps.length - 1; s >= 0; s--) {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(now);
+                calendar.add(steps[s][0], -steps[s][1]);
+                if (millis[i] > calendar.getTimeInMillis()) {
+                    expected = s;
+                }
+            }
+            assertEquals(TimeExtentClassifier.valueOf(expected), TimeExtentClassifier.valueOf(ordinals[i]), "index " + i);
+        }
+
+        byte[] fromDates = new byte[3];
+        classifier.classifyAll(Arrays.asList(new Date(now), null, new Date(millis[100])), fromDates);
+        assertEquals(TimeExtentEnum.ONE_HOUR.ordinal(), fromDates[0]);
+        assertEquals(TimeExtentEnum.ONE_YEAR_AGO.ordinal(), fromDates[1]);
+        assertEquals(ordinals[100], fromDates[2]);
+    }
+}
@@ -0,0 +1,67 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimestampColumnConverterTest {
+
+    @Test
+    void convertsColumnBothWaysKeepingLineOrder(@TempDir Path dir) throws Exception {
+        SimpleDateFormat full = new SimpleDateFormat(DateUtil.DATE_FORMAT_FULL);
+        Random random = new Random(3);
+        StringBuilder seconds = new StringBuilder("id\tts\tname\n");
+        StringBuilder dates = new StringBuilder("id\tts\tname\n");
+        int lines = 2000;
+        for (int i = 0; i < lines; i++) {
+            long s = 946656000L + random.nextInt(1_000_000_000);
+            String eol = i % 3 == 0 ? "\r\n" : "\n";
+            seconds.append(i).append('\t').append(s).append("\tn").append(i).append(eol);
+            dates.append(i).append('\t').append(full.format(s * 1000)).append("\tn").append(i).append(eol);
+        }
+        seconds.append("bad\tline");
+        dates.append("bad\tline");
+
+        Path in = dir.resolve("in.tsv");
+        Path out = dir.resolve("out.tsv");
+        Files.write(in, seconds.toString().getBytes(StandardCharsets.US_ASCII));
+        TimestampColumnConverter toDate = new TimestampColumnConverter((byte) '\t', 1, DateUtil.DATE_FORMAT_FULL,
+                TimestampColumnConverter.Mode.SECONDS_TO_DATE, true, 4096);
+        TimestampColumnConverter.Result result = toDate.convert(in, out);
+        assertEquals(dates.toString(), new String(Files.readAllBytes(out), StandardCharsets.US_ASCII));
+        assertEquals(lines + 1, result.getLines());
+        assertEquals(lines, result.getConverted());
+        assertEquals(1, result.getFailed());
+
+        Path back = dir.resolve("back.tsv");
+        TimestampColumnConverter toSeconds = new TimestampColumnConverter((byte) '\t', 1, DateUtil.DATE_FORMAT_FULL,
+                TimestampColumnConverter.Mode.DATE_TO_SECONDS, true, 1000);
+        toSeconds.convert(out, back);
+        assertEquals(seconds.toString(), new String(Files.readAllBytes(back), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void secondsThatOverflowMillisAreInvalidRows(@TempDir Path dir) throws Exception {
+        // 秒乘以 1000 会溢出 long 的值按无法转换的行原样输出
+        String input = "1,1617206400,a\n2,9223372036854775,b\n3,-999999999999999999,c\n";
+        Path in = dir.resolve("in.csv");
+        Path out = dir.resolve("out.csv");
+        Files.write(in, input.getBytes(StandardCharsets.US_ASCII));
+        TimestampColumnConverter toDate = new TimestampColumnConverter((byte) ',', 1, DateUtil.DATE_FORMAT_FULL,
+                TimestampColumnConverter.Mode.SECONDS_TO_DATE, false, 4096);
+        TimestampColumnConverter.Result result = toDate.convert(in, out);
+        String first = DateUtil.formatDateToString(new Date(1617206400000L), DateUtil.DATE_FORMAT_FULL);
+        assertEquals("1," + first + ",a\n2,9223372036854775,b\n3,-999999999999999999,c\n",
+                new String(Files.readAllBytes(out), StandardCharsets.US_ASCII));
+        assertEquals(1, result.getConverted());
+        assertEquals(2, result.getFailed());
+    }
+}
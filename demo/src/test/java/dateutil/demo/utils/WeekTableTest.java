@@ -0,0 +1,104 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeekTableTest {
+
+    @Test
+    void matchesCalendarForAllFirstDaysOfWeek() {
+        SimpleDateFormat ymd = new SimpleDateFormat(DateUtil.DATE_FORMAT_YMD);
+        for (int year = 1990; year <= 2040; year++) {
+            for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+                Calendar cal = Calendar.getInstance();
+                cal.setFirstDayOfWeek(firstDayOfWeek);
+                cal.setMinimalDaysInFirstWeek(DateUtil.WEEK_DAYS);
+                cal.clear();
+                cal.set(year, Calendar.JUNE, 1);
+                assertEquals(cal.getWeeksInWeekYear(), DateUtil.getWeekNumOfYear(year, firstDayOfWeek));
+                assertEquals(cal.getWeeksInWeekYear(), WeekTable.of(year, firstDayOfWeek).weeks());
+
+                for (int week = 1; week <= 53; week += 13) {
+                    cal.clear();
+                    cal.setFirstDayOfWeek(firstDayOfWeek);
+                    cal.setMinimalDaysInFirstWeek(DateUtil.WEEK_DAYS);
+                    cal.set(Calendar.YEAR, year);
+                    cal.set(Calendar.WEEK_OF_YEAR, week);
+                    cal.set(Calendar.DAY_OF_WEEK, Calendar.WEDNESDAY);
+                    assertEquals(ymd.format(cal.getTime()),
+                            DateUtil.getDateForDayOfWeek(year, week, Calendar.WEDNESDAY, firstDayOfWeek));
+                }
+            }
+        }
+    }
+
+    @Test
+    void weekAndYearMatchesCalendarFrom1584() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setMinimalDaysInFirstWeek(DateUtil.WEEK_DAYS);
+        int first = (int) CalendarMath.daysFromCivil(1584, 1, 1);
+        int last = (int) CalendarMath.daysFromCivil(1620, 12, 31);
+        for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+            calendar.setFirstDayOfWeek(firstDayOfWeek);
+            for (int day = first; day <= last; day++) {
+                calendar.setTimeInMillis(day * CalendarMath.MILLIS_PER_DAY);
+                assertArrayEquals(new int[]{calendar.get(Calendar.WEEK_OF_YEAR), calendar.getWeekYear()},
+                        WeekTable.weekAndYear(day, firstDayOfWeek), day + " " + firstDayOfWeek);
+            }
+        }
+        assertTrue(WeekTable.supportsWeekAndYear(first));
+        assertFalse(WeekTable.supportsWeekAndYear(first - 1));
+
+        // 1584 年之前回退到 Calendar（儒略历）
+        Calendar julian = Calendar.getInstance();
+        julian.setFirstDayOfWeek(Calendar.MONDAY);
+        julian.setMinimalDaysInFirstWeek(DateUtil.WEEK_DAYS);
+        julian.clear();
+        julian.set(1500, Calendar.MARCH, 1);
+        assertArrayEquals(new int[]{julian.get(Calendar.WEEK_OF_YEAR), julian.getWeekYear()},
+                DateUtil.getWeekAndYear(julian.getTimeInMillis(), Calendar.MONDAY));
+    }
+
+    @Test
+    void cacheSlotsAreReplacedOnCollision() {
+        for (int year = 1600; year <= 1800; year++) {
+            for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+                WeekTable table = WeekTable.of(year, firstDayOfWeek);
+                assertEquals(year, table.getYear());
+                assertEquals(firstDayOfWeek, table.getFirstDayOfWeek());
+                assertEquals(WeekTable.weeksOf(year, firstDayOfWeek), table.weeks());
+            }
+        }
+        assertEquals(1600, WeekTable.of(1600, Calendar.MONDAY).getYear());
+    }
+
+    @Test
+    void navigatesWeeksAndYears() {
+        List<String[]> weeks = DateUtil.getWeeksByYear(2009);
+        assertArrayEquals(new String[]{"2009-01-05", "2009-01-11"}, weeks.get(0));
+        assertArrayEquals(new String[]{"2009-12-28", "2010-01-03"}, weeks.get(weeks.size() - 1));
+
+        assertEquals(53, DateUtil.getWeekNumOfYear(2017, Calendar.SUNDAY));
+        assertArrayEquals(new int[]{53, 2017}, DateUtil.getLastYearWeek(2018, 1, Calendar.SUNDAY));
+        assertArrayEquals(new int[]{52, 1599}, WeekTable.of(1600, Calendar.MONDAY).previous(1));
+        assertSame(WeekTable.of(2017, Calendar.SUNDAY), WeekTable.of(2017, Calendar.SUNDAY));
+        assertArrayEquals(new int[]{1, 2018}, DateUtil.getNextYearWeek(2017, 53, Calendar.SUNDAY));
+        assertArrayEquals(new int[]{53, 2017}, DateUtil.getWeekAndYear("2018-01-01", 0, Calendar.SUNDAY));
+
+        List<String> days = DateUtil.getWeekDaysAroundDate("2020-03-12", -1, "2020-03-05");
+        assertEquals(DateUtil.getWeekDays(2020, 10, Calendar.THURSDAY), days);
+        assertEquals("2020-03-05", days.get(0));
+        assertEquals("2020-03-11", days.get(6));
+    }
+}
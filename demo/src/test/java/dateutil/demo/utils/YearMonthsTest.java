@@ -0,0 +1,99 @@
+package dateutil.demo.utils;
+
+import org.joda.time.DateTime;
+import org.joda.time.Months;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YearMonthsTest {
+
+    /**
+     * 改写前 addMonth(String, int) 的实现
+     */
+    private static String legacyAddMonth(String date, int n) throws Exception {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(sdf.parse(date));
+        calendar.add(Calendar.MONTH, n);
+        return sdf.format(calendar.getTime());
+    }
+
+    /**
+     * 改写前 getMonthListBetween 的实现
+     */
+    private static List<String> legacyMonthList(String minDate, String maxDate) throws Exception {
+        List<String> result = new ArrayList<>();
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
+        Calendar min = Calendar.getInstance();
+        Calendar max = Calendar.getInstance();
+        min.setTime(sdf.parse(minDate));
+        min.set(min.get(Calendar.YEAR), min.get(Calendar.MONTH), 1);
+        max.setTime(sdf.parse(maxDate));
+        max.set(max.get(Calendar.YEAR), max.get(Calendar.MONTH), 2);
+        while (min.before(max)) {
+            result.add(sdf.format(min.getTime()));
+            min.add(Calendar.MONTH, 1);
+        }
+        return result;
+    }
+
+    @Test
+    void stringHelpersMatchCalendar() throws Exception {
+        String[] inputs = {"2021-01", "2020-12", "1900-01", "2100-12", "1899-06", "2021-4", "2021-13", "2021-04-15"};
+        for (String input : inputs) {
+            for (int n = -30; n <= 30; n += 7) {
+                assertEquals(legacyAddMonth(input, n), DateUtil.addMonth(input, n), input + " " + n);
+            }
+            assertEquals(legacyAddMonth(input, -1), DateUtil.subMonth(input));
+            assertEquals(legacyAddMonth(input, -1), DateUtil.subOnlyMonth(input));
+            assertEquals(legacyAddMonth(input, -12), DateUtil.subLastYearMonth(input));
+            assertEquals(legacyMonthList(input, "2022-03"), DateUtil.getMonthListBetween(input, "2022-03"));
+        }
+        assertEquals("2020-12", DateUtil.subYearMonth("2021"));
+        assertEquals("1899-12", DateUtil.subYearMonth("1900"));
+        assertTrue(DateUtil.getMonthListBetween("2021-03", "2021-01").isEmpty());
+        assertSame(DateUtil.subMonth("2021-03"), DateUtil.addMonth("2021-01", 1));
+        assertThrows(ParseException.class, () -> DateUtil.subMonth("bad"));
+    }
+
+    @Test
+    void parseIsStrict() {
+        assertEquals(YearMonths.of(2021, 4), YearMonths.parse("2021-04"));
+        assertEquals(YearMonths.INVALID, YearMonths.parse("2021-4"));
+        assertEquals(YearMonths.INVALID, YearMonths.parse("2021-13"));
+        assertEquals(YearMonths.INVALID, YearMonths.parse("2021-00"));
+        assertEquals(YearMonths.INVALID, YearMonths.parse("2021/04"));
+        assertEquals(2021, YearMonths.year(YearMonths.of(2021, 12)));
+        assertEquals(12, YearMonths.month(YearMonths.of(2021, 12)));
+    }
+
+    @Test
+    void monthsBetweenMatchesJoda() {
+        Random random = new Random(3);
+        long base = 946656000000L;
+        for (int i = 0; i < 20000; i++) {
+            long start = base + (long) (random.nextDouble() * 30 * 365 * CalendarMath.MILLIS_PER_DAY);
+            long end = start + (long) ((random.nextDouble() - 0.5) * (i % 2 == 0 ? 120 : 3000) * CalendarMath.MILLIS_PER_DAY);
+            assertEquals(Months.monthsBetween(new DateTime(start), new DateTime(end)).getMonths(),
+                    YearMonths.monthsBetween(start, end), start + " " + end);
+        }
+        Date jan31 = DateUtil.formatStringToDate("2021-01-31", DateUtil.DATE_FORMAT_YMD);
+        Date feb28 = DateUtil.formatStringToDate("2021-02-28", DateUtil.DATE_FORMAT_YMD);
+        Date mar30 = DateUtil.formatStringToDate("2021-03-30", DateUtil.DATE_FORMAT_YMD);
+        assertEquals(1, DateUtil.getMonthGapOfDates(jan31, feb28));
+        assertEquals(1, DateUtil.getMonthGapOfDates(jan31, mar30));
+        assertEquals(-1, DateUtil.getMonthGapOfDates(feb28, jan31));
+    }
+}
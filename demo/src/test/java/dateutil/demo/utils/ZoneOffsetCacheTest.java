@@ -0,0 +1,85 @@
+package dateutil.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ZoneOffsetCacheTest {
+
+    private static final String[] ZONES = {
+            "UTC", "America/New_York", "Europe/London", "Asia/Shanghai", "Australia/Lord_Howe", "America/Sao_Paulo"};
+
+    @Test
+    void matchesTimeZoneAroundEveryTransition() {
+        for (String id : ZONES) {
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneOffsetCache cache = ZoneOffsetCache.of(zoneId);
+            TimeZone timeZone = TimeZone.getTimeZone(zoneId);
+            GregorianCalendar calendar = new GregorianCalendar(timeZone);
+            ZoneRules rules = zoneId.getRules();
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.parse("1950-01-01T00:00:00Z"));
+            while (transition != null && transition.getInstant().isBefore(Instant.parse("2100-01-01T00:00:00Z"))) {
+                long at = transition.toEpochSecond() * 1000;
+                for (long delta : new long[]{-CalendarMath.MILLIS_PER_DAY, -1, 0, 1, CalendarMath.MILLIS_PER_HOUR}) {
+                    check(cache, timeZone, calendar, at + delta);
+                }
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            Random random = new Random(5);
+            for (int i = 0; i < 20000; i++) {
+                long millis = -2208988800000L + (long) (random.nextDouble() * 300 * 365 * CalendarMath.MILLIS_PER_DAY);
+                check(cache, timeZone, calendar, millis);
+            }
+        }
+    }
+
+    @Test
+    void defaultFollowsTimeZoneSetDefault() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            ZoneOffsetCache shanghai = ZoneOffsetCache.getDefault();
+            assertEquals(ZoneId.of("Asia/Shanghai"), shanghai.getZone());
+            assertSame(shanghai, ZoneOffsetCache.getDefault());
+            assertArrayEquals(new long[]{-8 * CalendarMath.MILLIS_PER_HOUR},
+                    CalendarRanges.dayStarts(0, 0).toArray());
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals(ZoneId.of("America/New_York"), ZoneOffsetCache.getDefault().getZone());
+            assertArrayEquals(new long[]{-CalendarMath.MILLIS_PER_DAY + 5 * CalendarMath.MILLIS_PER_HOUR},
+                    CalendarRanges.dayStarts(0, 0).toArray());
+            assertEquals(-1, EpochDateUtil.epochDay(0));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static void check(ZoneOffsetCache cache, TimeZone timeZone, GregorianCalendar calendar, long millis) {
+        String message = timeZone.getID() + " " + millis;
+        int offset = timeZone.getOffset(millis);
+        assertEquals(offset, cache.offsetAt(millis), message);
+        assertEquals(millis + offset, cache.toLocal(millis), message);
+
+        calendar.setTimeInMillis(millis);
+        int year = calendar.get(Calendar.YEAR);
+        int month = calendar.get(Calendar.MONTH) + 1;
+        int day = calendar.get(Calendar.DAY_OF_MONTH);
+        int epochDay = (int) CalendarMath.daysFromCivil(year, month, day);
+        assertEquals(epochDay, cache.epochDay(millis), message);
+
+        calendar.clear();
+        calendar.set(year, month - 1, day);
+        assertEquals(calendar.getTimeInMillis(), cache.startOfEpochDay(epochDay), message);
+    }
+}